@@ -29,6 +29,7 @@ import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.version.ServerProtocolVersion;
 import io.netty.buffer.ByteBuf;
+import java.util.Collection;
 import java.util.SortedSet;
 import java.util.UUID;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -131,6 +132,17 @@ public interface ViaAPI<T> {
      */
     void sendRawPacket(UUID uuid, ByteBuf packet);
 
+    /**
+     * Sends the same raw packet to multiple players, sharing the buffer between them instead of copying it.
+     * The packet has to be in the protocol version of all given players, see the broadcast method of
+     * {@link com.viaversion.viaversion.api.protocol.packet.VersionedPacketTransformer} to send packets to players of different versions.
+     * Players not injected by Via are skipped.
+     *
+     * @param uuids  the uuids of the players to send the packet to
+     * @param packet the packet; you need a VarInt id, then the packet contents
+     */
+    void broadcastRawPacket(Collection<UUID> uuids, ByteBuf packet);
+
     /**
      * Returns the supported protocol versions.
      * This method removes any blocked protocol versions.
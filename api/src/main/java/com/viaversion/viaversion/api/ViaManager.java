@@ -26,11 +26,13 @@ import com.viaversion.viaversion.api.command.ViaVersionCommand;
 import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.platform.ViaPlatformLoader;
 import com.viaversion.viaversion.api.platform.providers.ViaProviders;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.scheduler.ConnectionScheduler;
 import com.viaversion.viaversion.api.scheduler.Scheduler;
 import java.util.Set;
 
@@ -92,6 +94,13 @@ public interface ViaManager {
      */
     Scheduler getScheduler();
 
+    /**
+     * Returns the scheduler for per-connection deadlines, ticked on the platform's main thread.
+     *
+     * @return connection scheduler
+     */
+    ConnectionScheduler getConnectionScheduler();
+
     /**
      * Returns the configuration provider.
      *
@@ -125,6 +134,17 @@ public interface ViaManager {
      */
     DebugHandler debugHandler();
 
+    /**
+     * Returns the packet transformation metrics.
+     * <p>
+     * Managers without their own implementation return metrics that are always disabled.
+     *
+     * @return packet transformation metrics
+     */
+    default TransformMetrics transformMetrics() {
+        return TransformMetrics.disabled();
+    }
+
     /**
      * Returns a mutable set of self-added subplatform version strings.
      * This set is expanded by the subplatform itself (e.g. ViaBackwards), and may not contain all running ones.
@@ -28,6 +28,7 @@ import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.minecraft.WorldIdentifiers;
 import com.viaversion.viaversion.api.protocol.version.BlockedProtocolVersions;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface ViaVersionConfig extends Config {
@@ -186,6 +187,36 @@ public interface ViaVersionConfig extends Config {
      */
     String getMaxWarningsKickMessage();
 
+    /**
+     * Get the maximum weighted packets per second a client can send before being kicked,
+     * each packet weighing its cost from {@link #getPacketCosts()} or 1.
+     *
+     * @return The weighted packet budget per second, -1 if disabled.
+     */
+    int getMaxPacketBudget();
+
+    /**
+     * Get the kick message sent if the user goes over the weighted packet budget
+     *
+     * @return Kick message, with colour codes using '&amp;amp;'
+     */
+    String getPacketBudgetKickMessage();
+
+    /**
+     * Get the cost weights of serverbound packet types by their name in the client's version.
+     *
+     * @return unmodifiable map of packet type names to their cost
+     */
+    Map<String, Integer> getPacketCosts();
+
+    /**
+     * Get the maximum number of serverbound packets per second by their packet type name in the client's version,
+     * additional packets of these types are dropped.
+     *
+     * @return unmodifiable map of packet type names to their maximum packets per second
+     */
+    Map<String, Integer> getPacketTypeLimits();
+
     /**
      * Send supported versions in the status response packet
      *
@@ -463,4 +494,32 @@ public interface ViaVersionConfig extends Config {
      * @return true if enabled
      */
     boolean isArmorToggleFix();
+
+    /**
+     * Reuses packet wrappers per connection for transformed packets instead of creating a new one for each packet.
+     *
+     * @return true if enabled
+     */
+    boolean reusePacketWrappers();
+
+    /**
+     * Caches expanded mapping data as files in the data folder and memory-maps them instead of keeping them on the heap.
+     *
+     * @return true if enabled
+     */
+    boolean memoryMappedMappings();
+
+    /**
+     * Returns the maximum size in megabytes of the cache sharing transformed packets marked as cacheable between connections.
+     *
+     * @return maximum cache size in megabytes, 0 if disabled
+     */
+    int sharedPacketCacheSize();
+
+    /**
+     * Records per-protocol and per-packet transformation metrics from startup, see {@link com.viaversion.viaversion.api.debug.TransformMetrics}.
+     *
+     * @return true if enabled
+     */
+    boolean transformMetrics();
 }
@@ -202,6 +202,9 @@ public interface UserConnection {
 
     /**
      * Transforms the clientbound packet contained in ByteBuf.
+     * <p>
+     * The transformed packet is written back into the buffer, reusing its untouched remaining bytes where possible.
+     * It starts at the buffer's reader index, which is not necessarily 0.
      *
      * @param buf            ByteBuf with packet id and packet contents
      * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
@@ -213,6 +216,9 @@ public interface UserConnection {
 
     /**
      * Transforms the serverbound packet contained in ByteBuf.
+     * <p>
+     * The transformed packet is written back into the buffer, reusing its untouched remaining bytes where possible.
+     * It starts at the buffer's reader index, which is not necessarily 0.
      *
      * @param buf            ByteBuf with packet id and packet contents
      * @param cancelSupplier Function called with original CancelException for generating the Exception used when
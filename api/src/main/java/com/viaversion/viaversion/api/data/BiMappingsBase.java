@@ -58,6 +58,11 @@ public class BiMappingsBase implements BiMappings {
         return mappings.mappedSize();
     }
 
+    @Override
+    public long heapSize() {
+        return mappings.heapSize() + inverse.mappings.heapSize();
+    }
+
     @Override
     public BiMappings inverse() {
         return this.inverse;
@@ -105,6 +105,11 @@ public class FullMappingsBase implements FullMappings {
         return mappings.mappedSize();
     }
 
+    @Override
+    public long heapSize() {
+        return mappings.heapSize();
+    }
+
     @Override
     public FullMappings inverse() {
         return new FullMappingsBase(mappedStringToId, stringToId, mappedIdToString, idToString, mappings.inverse());
@@ -64,6 +64,12 @@ public class Int2IntMapBiMappings implements BiMappings {
         return mappings.inverse().size();
     }
 
+    @Override
+    public long heapSize() {
+        // Keys and values of both directions, not including unused hash table slots
+        return (long) mappings.size() * Integer.BYTES * 4;
+    }
+
     @Override
     public BiMappings inverse() {
         return this.inverse;
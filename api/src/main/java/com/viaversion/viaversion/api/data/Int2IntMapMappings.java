@@ -63,6 +63,12 @@ public class Int2IntMapMappings implements Mappings {
         return mappedIds;
     }
 
+    @Override
+    public long heapSize() {
+        // Keys and values, not including unused hash table slots
+        return (long) mappings.size() * Integer.BYTES * 2;
+    }
+
     @Override
     public Mappings inverse() {
         final Int2IntMap inverse = new Int2IntOpenHashMap();
@@ -25,8 +25,9 @@ package com.viaversion.viaversion.api.data;
 import java.util.Arrays;
 
 public class IntArrayMappings implements Mappings {
-    private final int[] mappings;
+    private int[] mappings;
     private final int mappedIds;
+    private boolean shared;
 
     protected IntArrayMappings(final int[] mappings, final int mappedIds) {
         this.mappings = mappings;
@@ -37,6 +38,20 @@ public class IntArrayMappings implements Mappings {
         return new IntArrayMappings(mappings, mappedIds);
     }
 
+    /**
+     * Returns mappings backed by an array that may be shared with other mappings.
+     * The array is copied before it is changed.
+     *
+     * @param mappings  shared mappings array
+     * @param mappedIds amount of mapped ids
+     * @return mappings backed by the shared array
+     */
+    public static IntArrayMappings shared(final int[] mappings, final int mappedIds) {
+        final IntArrayMappings arrayMappings = new IntArrayMappings(mappings, mappedIds);
+        arrayMappings.shared = true;
+        return arrayMappings;
+    }
+
     @Override
     public int getNewId(int id) {
         return id >= 0 && id < mappings.length ? mappings[id] : -1;
@@ -44,6 +59,10 @@ public class IntArrayMappings implements Mappings {
 
     @Override
     public void setNewId(int id, int mappedId) {
+        if (shared) {
+            mappings = mappings.clone();
+            shared = false;
+        }
         mappings[id] = mappedId;
     }
 
@@ -70,6 +89,16 @@ public class IntArrayMappings implements Mappings {
         return of(inverse, mappings.length);
     }
 
+    @Override
+    public long heapSize() {
+        return (long) mappings.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the backing array, which may be shared with other mappings and must not be changed.
+     *
+     * @return backing array
+     */
     public int[] raw() {
         return mappings;
     }
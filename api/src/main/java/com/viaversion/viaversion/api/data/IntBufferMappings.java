@@ -0,0 +1,81 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Mappings backed by an int buffer, for example a slice of a memory-mapped mappings file.
+ * Only the accessed parts of a memory-mapped buffer are ever loaded into memory.
+ */
+public class IntBufferMappings implements Mappings {
+    private final IntBuffer mappings;
+    private final int mappedIds;
+
+    protected IntBufferMappings(final IntBuffer mappings, final int mappedIds) {
+        this.mappings = mappings;
+        this.mappedIds = mappedIds;
+    }
+
+    public static IntBufferMappings of(final IntBuffer mappings, final int mappedIds) {
+        return new IntBufferMappings(mappings, mappedIds);
+    }
+
+    @Override
+    public int getNewId(int id) {
+        return id >= 0 && id < mappings.limit() ? mappings.get(id) : -1;
+    }
+
+    @Override
+    public void setNewId(int id, int mappedId) {
+        mappings.put(id, mappedId);
+    }
+
+    @Override
+    public int size() {
+        return mappings.limit();
+    }
+
+    @Override
+    public int mappedSize() {
+        return mappedIds;
+    }
+
+    @Override
+    public Mappings inverse() {
+        final int[] inverse = new int[mappedIds];
+        Arrays.fill(inverse, -1);
+        for (int id = 0; id < mappings.limit(); id++) {
+            final int mappedId = mappings.get(id);
+            if (mappedId != -1 && inverse[mappedId] == -1) {
+                inverse[mappedId] = id;
+            }
+        }
+        return IntArrayMappings.of(inverse, mappings.limit());
+    }
+
+    public IntBuffer raw() {
+        return mappings;
+    }
+}
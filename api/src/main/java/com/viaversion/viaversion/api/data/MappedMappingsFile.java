@@ -0,0 +1,182 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.limiter.TagLimiter;
+import com.viaversion.viaversion.api.minecraft.nbt.ByteBufDataInput;
+import io.netty.buffer.Unpooled;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Flat file of expanded id mappings that is memory-mapped instead of being read onto the heap.
+ * <p>
+ * The file consists of a header with the origin of the mappings, followed by entries of
+ * a key, the unmapped and mapped size, and the mapped ids as plain ints. It ends with the
+ * remaining data of the mappings file as a compound tag. All values are 4-byte aligned.
+ */
+public final class MappedMappingsFile {
+
+    private static final int MAGIC = 0x5649414D; // VIAM
+    private static final int FORMAT_VERSION = 2;
+    private final Map<String, Mappings> mappings;
+    private final CompoundTag data;
+
+    private MappedMappingsFile(final Map<String, Mappings> mappings, final CompoundTag data) {
+        this.mappings = mappings;
+        this.data = data;
+    }
+
+    /**
+     * Returns the mappings stored under the given key.
+     *
+     * @param key mappings key
+     * @return mappings stored under the given key, or null if not present
+     */
+    public @Nullable Mappings mappings(final String key) {
+        return mappings.get(key);
+    }
+
+    /**
+     * Returns the data of the mappings file that is not stored as mapped mappings, such as tags and extra data.
+     *
+     * @return remaining data of the mappings file
+     */
+    public CompoundTag data() {
+        return data;
+    }
+
+    /**
+     * Memory-maps the given file if it has been written for the given origin.
+     * The file is mapped privately, so changes to the mappings are not written back to it.
+     *
+     * @param file   file to map
+     * @param origin origin to compare with the one stored in the file
+     * @return mapped mappings file, or null if not present or written for a different origin
+     * @throws IOException if the file could not be mapped
+     */
+    public static @Nullable MappedMappingsFile open(final File file, final String origin) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        final MappedByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !origin.equals(readString(buffer))) {
+            return null;
+        }
+
+        final int entries = buffer.getInt();
+        final Map<String, Mappings> mappings = new HashMap<>(entries);
+        for (int i = 0; i < entries; i++) {
+            final String key = readString(buffer);
+            final int size = buffer.getInt();
+            final int mappedSize = buffer.getInt();
+            final int start = buffer.position();
+            final ByteBuffer slice = buffer.slice();
+            slice.limit(size * Integer.BYTES);
+            mappings.put(key, IntBufferMappings.of(slice.asIntBuffer(), mappedSize));
+            buffer.position(start + size * Integer.BYTES);
+        }
+
+        final byte[] dataBytes = new byte[buffer.getInt()];
+        buffer.get(dataBytes);
+        final CompoundTag data = CompoundTag.read(new ByteBufDataInput(Unpooled.wrappedBuffer(dataBytes)), TagLimiter.create(Integer.MAX_VALUE, 512), 0);
+        return new MappedMappingsFile(mappings, data);
+    }
+
+    /**
+     * Writes the given mappings to the file, replacing it if already present.
+     *
+     * @param file     file to write to
+     * @param origin   origin of the mappings, e.g. a digest of the data they have been loaded from
+     * @param mappings mappings by their key
+     * @param data     remaining data of the mappings file
+     * @throws IOException if the file could not be written
+     */
+    public static void write(final File file, final String origin, final Map<String, IntArrayMappings> mappings, final CompoundTag data) throws IOException {
+        final File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+
+        final File tempFile = new File(directory, file.getName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, origin);
+            out.writeInt(mappings.size());
+            for (final Map.Entry<String, IntArrayMappings> entry : mappings.entrySet()) {
+                final int[] raw = entry.getValue().raw();
+                writeString(out, entry.getKey());
+                out.writeInt(raw.length);
+                out.writeInt(entry.getValue().mappedSize());
+                for (final int mappedId : raw) {
+                    out.writeInt(mappedId);
+                }
+            }
+
+            final ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+            data.write(new DataOutputStream(dataBytes));
+            out.writeInt(dataBytes.size());
+            dataBytes.writeTo(out);
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        buffer.position(buffer.position() + padding(bytes.length));
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.write(new byte[padding(bytes.length)]);
+    }
+
+    private static int padding(final int length) {
+        return (Integer.BYTES - (length & (Integer.BYTES - 1))) & (Integer.BYTES - 1);
+    }
+}
@@ -27,13 +27,20 @@ import com.github.steveice10.opennbt.tag.builtin.IntArrayTag;
 import com.github.steveice10.opennbt.tag.builtin.ListTag;
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.google.common.io.BaseEncoding;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.minecraft.RegistryType;
 import com.viaversion.viaversion.api.minecraft.TagData;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -55,6 +62,8 @@ public class MappingDataBase implements MappingData {
     protected Mappings paintingMappings;
     protected Mappings menuMappings;
     protected Map<RegistryType, List<TagData>> tags;
+    private MappedMappingsFile mappedMappings;
+    private Map<String, IntArrayMappings> mappingsToWrite;
 
     public MappingDataBase(final String unmappedVersion, final String mappedVersion) {
         this.unmappedVersion = unmappedVersion;
@@ -67,7 +76,18 @@ public class MappingDataBase implements MappingData {
             getLogger().info("Loading " + unmappedVersion + " -> " + mappedVersion + " mappings...");
         }
 
-        final CompoundTag data = readNBTFile("mappings-" + unmappedVersion + "to" + mappedVersion + ".nbt");
+        final String mappingsFileName = "mappings-" + unmappedVersion + "to" + mappedVersion + ".nbt";
+        final String mappedMappingsOrigin = Via.getConfig().memoryMappedMappings() ? mappedMappingsOrigin(mappingsFileName) : null;
+        CompoundTag data = null;
+        if (mappedMappingsOrigin != null) {
+            // On a cache hit, only the remaining small data is read from the cache file instead of the full mappings file
+            data = openMappedMappings(mappingsFileName, mappedMappingsOrigin);
+        }
+        if (data == null) {
+            data = readNBTFile(mappingsFileName);
+        }
+        final CompoundTag originalData = mappingsToWrite != null ? data.copy() : null;
+
         blockMappings = loadMappings(data, "blocks");
         blockStateMappings = loadMappings(data, "blockstates");
         blockEntityMappings = loadMappings(data, "blockentities");
@@ -106,14 +126,105 @@ public class MappingDataBase implements MappingData {
         }
 
         loadExtras(data);
+
+        if (mappedMappingsOrigin != null) {
+            writeMappedMappings(mappingsFileName, mappedMappingsOrigin, originalData);
+        }
+    }
+
+    /**
+     * Returns the origin identifying the mappings cache for the given file, made up of the plugin version
+     * and a digest of the raw mappings file.
+     *
+     * @param name name of the mappings file
+     * @return origin of the cached mappings, or null if the raw mappings file could not be read
+     */
+    private @Nullable String mappedMappingsOrigin(final String name) {
+        final InputStream resource = mappingsResource(name);
+        if (resource == null) {
+            return null;
+        }
+
+        try (final InputStream stream = resource) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return getClass().getName() + ":" + Via.getPlatform().getPluginVersion() + ":" + BaseEncoding.base16().lowerCase().encode(digest.digest());
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            getLogger().log(Level.WARNING, "Unable to hash " + name + " for the mappings cache", e);
+            return null;
+        }
+    }
+
+    private @Nullable CompoundTag openMappedMappings(final String name, final String origin) {
+        try {
+            mappedMappings = MappedMappingsFile.open(MappingDataLoader.mappedMappingsFile(name), origin);
+        } catch (final IOException | RuntimeException e) {
+            getLogger().log(Level.WARNING, "Unable to map cached " + name + " mappings, recreating them", e);
+        }
+
+        if (mappedMappings == null) {
+            // Collect expanded mappings to write them once everything has been loaded
+            mappingsToWrite = new HashMap<>();
+            return null;
+        }
+        return mappedMappings.data();
+    }
+
+    private void writeMappedMappings(final String name, final String origin, final @Nullable CompoundTag originalData) {
+        if (mappingsToWrite != null && !mappingsToWrite.isEmpty()) {
+            // Store everything that is not served from the cached mappings, so the mappings file doesn't have to be read again
+            final CompoundTag remainingData = new CompoundTag();
+            for (final Map.Entry<String, Tag> entry : originalData.entrySet()) {
+                if (!mappingsToWrite.containsKey(entry.getKey())) {
+                    remainingData.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            try {
+                MappedMappingsFile.write(MappingDataLoader.mappedMappingsFile(name), origin, mappingsToWrite, remainingData);
+            } catch (final IOException e) {
+                getLogger().log(Level.WARNING, "Unable to cache " + name + " mappings", e);
+            }
+        }
+
+        mappedMappings = null;
+        mappingsToWrite = null;
     }
 
     protected @Nullable CompoundTag readNBTFile(final String name) {
         return MappingDataLoader.loadNBT(name);
     }
 
+    /**
+     * Returns the raw mappings file used to identify the mappings cache.
+     * Has to be overridden together with {@link #readNBTFile(String)} if mappings are loaded from elsewhere.
+     *
+     * @param name name of the mappings file
+     * @return raw mappings file, or null to not cache the mappings
+     */
+    protected @Nullable InputStream mappingsResource(final String name) {
+        return MappingDataLoader.getResource(name);
+    }
+
     protected @Nullable Mappings loadMappings(final CompoundTag data, final String key) {
-        return MappingDataLoader.loadMappings(data, key);
+        if (mappedMappings != null) {
+            final Mappings mappings = mappedMappings.mappings(key);
+            if (mappings != null) {
+                return mappings;
+            }
+        }
+
+        final Mappings mappings = MappingDataLoader.loadMappings(data, key);
+        if (mappingsToWrite != null && mappings instanceof IntArrayMappings) {
+            // Copy them, as they might still be changed after loading
+            final IntArrayMappings arrayMappings = (IntArrayMappings) mappings;
+            mappingsToWrite.put(key, IntArrayMappings.of(arrayMappings.raw().clone(), arrayMappings.mappedSize()));
+        }
+        return mappings;
     }
 
     protected @Nullable FullMappings loadFullMappings(final CompoundTag data, final CompoundTag unmappedIdentifiers, final CompoundTag mappedIdentifiers, final String key) {
@@ -59,10 +59,16 @@ public final class MappingDataLoader {
     private static final byte SHIFTS_ID = 1;
     private static final byte CHANGES_ID = 2;
     private static final byte IDENTITY_ID = 3;
+    private static final int MAX_SHIFTED_RANGES = 8;
+    private static final Map<SharedArrayKey, int[]> SHARED_ARRAYS = new HashMap<>();
+    private static long sharedArrayBytes;
     private static boolean cacheValid = true;
 
     public static void clearCache() {
         MAPPINGS_CACHE.clear();
+        synchronized (SHARED_ARRAYS) {
+            SHARED_ARRAYS.clear();
+        }
         cacheValid = false;
     }
 
@@ -143,11 +149,50 @@ public final class MappingDataLoader {
     }
 
     public static @Nullable Mappings loadMappings(final CompoundTag mappingsTag, final String key) {
-        return loadMappings(mappingsTag, key, size -> {
+        final Mappings mappings = loadMappings(mappingsTag, key, size -> {
             final int[] array = new int[size];
             Arrays.fill(array, -1);
             return array;
         }, (array, id, mappedId) -> array[id] = mappedId, IntArrayMappings::of);
+        return mappings instanceof IntArrayMappings ? compact((IntArrayMappings) mappings) : mappings;
+    }
+
+    /**
+     * Returns range shift mappings if the given mappings only consist of a few shifted ranges of ids,
+     * else mappings backed by an array shared with all other identical mappings loaded during startup.
+     *
+     * @param mappings mappings to compact
+     * @return compacted mappings
+     */
+    public static Mappings compact(final IntArrayMappings mappings) {
+        final int[] array = mappings.raw();
+        final RangeShiftMappings rangeShiftMappings = RangeShiftMappings.of(array, mappings.mappedSize(), MAX_SHIFTED_RANGES);
+        if (rangeShiftMappings != null) {
+            return rangeShiftMappings;
+        }
+        if (!cacheValid) {
+            return mappings;
+        }
+
+        final int[] sharedArray;
+        synchronized (SHARED_ARRAYS) {
+            sharedArray = SHARED_ARRAYS.computeIfAbsent(new SharedArrayKey(array), k -> array);
+            if (sharedArray != array) {
+                sharedArrayBytes += (long) array.length * Integer.BYTES;
+            }
+        }
+        return IntArrayMappings.shared(sharedArray, mappings.mappedSize());
+    }
+
+    /**
+     * Returns the amount of bytes saved by sharing identical mapping arrays.
+     *
+     * @return amount of bytes saved by sharing identical mapping arrays
+     */
+    public static long sharedArrayBytes() {
+        synchronized (SHARED_ARRAYS) {
+            return sharedArrayBytes;
+        }
     }
 
     @Beta
@@ -276,10 +321,45 @@ public final class MappingDataLoader {
         return map;
     }
 
+    /**
+     * Returns the file in the platform's data folder used for the memory-mapped expanded mappings of the given mappings file.
+     *
+     * @param name name of the mappings file
+     * @return file for the memory-mapped mappings
+     * @see MappedMappingsFile
+     */
+    public static File mappedMappingsFile(final String name) {
+        final String fileName = name.endsWith(".nbt") ? name.substring(0, name.length() - ".nbt".length()) : name;
+        return new File(new File(Via.getPlatform().getDataFolder(), "mappings-cache"), fileName + ".bin");
+    }
+
     public static @Nullable InputStream getResource(final String name) {
         return MappingDataLoader.class.getClassLoader().getResourceAsStream("assets/viaversion/data/" + name);
     }
 
+    private static final class SharedArrayKey {
+        private final int[] array;
+        private final int hashCode;
+
+        private SharedArrayKey(final int[] array) {
+            this.array = array;
+            this.hashCode = Arrays.hashCode(array);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final SharedArrayKey that = (SharedArrayKey) o;
+            return hashCode == that.hashCode && Arrays.equals(array, that.array);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     @FunctionalInterface
     public interface AddConsumer<T> {
 
@@ -85,6 +85,16 @@ public interface Mappings {
      */
     Mappings inverse();
 
+    /**
+     * Returns the estimated amount of heap memory used by the mapped ids in bytes.
+     * Arrays shared with other mappings are included.
+     *
+     * @return estimated heap memory used by the mapped ids in bytes
+     */
+    default long heapSize() {
+        return 0;
+    }
+
     @FunctionalInterface
     interface MappingsSupplier<T extends Mappings> {
 
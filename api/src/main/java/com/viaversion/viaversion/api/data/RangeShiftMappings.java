@@ -0,0 +1,192 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Mappings stored as consecutive ranges of ids that are all shifted by the same amount,
+ * used for mappings that are the identity apart from a few inserted or removed ids.
+ * <p>
+ * Once split into more than {@link #MAX_RANGES} ranges by changed ids, the mappings are expanded into a plain array.
+ */
+public class RangeShiftMappings implements Mappings {
+    private static final int UNMAPPED = Integer.MIN_VALUE;
+    private static final int MAX_RANGES = 16;
+    private int[] rangeStarts;
+    private int[] shifts;
+    private int[] expanded;
+    private final int size;
+    private final int mappedIds;
+
+    protected RangeShiftMappings(final int[] rangeStarts, final int[] shifts, final int size, final int mappedIds) {
+        this.rangeStarts = rangeStarts;
+        this.shifts = shifts;
+        this.size = size;
+        this.mappedIds = mappedIds;
+    }
+
+    /**
+     * Returns range shift mappings of the given mappings array if they consist of at most the given amount of ranges.
+     *
+     * @param mappings  mappings array
+     * @param mappedIds amount of mapped ids
+     * @param maxRanges maximum amount of ranges
+     * @return range shift mappings, or null if the mappings consist of more ranges
+     */
+    public static @Nullable RangeShiftMappings of(final int[] mappings, final int mappedIds, final int maxRanges) {
+        final int[] rangeStarts = new int[maxRanges];
+        final int[] shifts = new int[maxRanges];
+        int ranges = 0;
+        int currentShift = 0;
+        for (int id = 0; id < mappings.length; id++) {
+            final int mappedId = mappings[id];
+            final int shift = mappedId == -1 ? UNMAPPED : mappedId - id;
+            if (id != 0 && shift == currentShift) {
+                continue;
+            }
+
+            if (ranges == maxRanges) {
+                return null;
+            }
+
+            rangeStarts[ranges] = id;
+            shifts[ranges++] = shift;
+            currentShift = shift;
+        }
+        return new RangeShiftMappings(Arrays.copyOf(rangeStarts, ranges), Arrays.copyOf(shifts, ranges), mappings.length, mappedIds);
+    }
+
+    @Override
+    public int getNewId(final int id) {
+        if (id < 0 || id >= size) {
+            return -1;
+        }
+        if (expanded != null) {
+            return expanded[id];
+        }
+
+        final int shift = shifts[rangeIndex(id)];
+        return shift != UNMAPPED ? id + shift : -1;
+    }
+
+    @Override
+    public void setNewId(final int id, final int mappedId) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Index " + id + " out of bounds for size " + size);
+        }
+        if (expanded != null) {
+            expanded[id] = mappedId;
+            return;
+        }
+        if (rangeStarts.length + 2 > MAX_RANGES) {
+            // Avoid copying the ranges on every change and searching through many of them on lookups
+            expand();
+            expanded[id] = mappedId;
+            return;
+        }
+
+        // Split the containing range into the part before, the id itself, and the part after
+        final int index = rangeIndex(id);
+        final int start = rangeStarts[index];
+        final int end = index + 1 < rangeStarts.length ? rangeStarts[index + 1] : size;
+        final int shift = shifts[index];
+        final int[] newStarts = new int[rangeStarts.length + 2];
+        final int[] newShifts = new int[shifts.length + 2];
+        System.arraycopy(rangeStarts, 0, newStarts, 0, index);
+        System.arraycopy(shifts, 0, newShifts, 0, index);
+
+        int ranges = index;
+        if (id != start) {
+            newStarts[ranges] = start;
+            newShifts[ranges++] = shift;
+        }
+        newStarts[ranges] = id;
+        newShifts[ranges++] = mappedId == -1 ? UNMAPPED : mappedId - id;
+        if (id + 1 != end) {
+            newStarts[ranges] = id + 1;
+            newShifts[ranges++] = shift;
+        }
+
+        final int remaining = rangeStarts.length - index - 1;
+        System.arraycopy(rangeStarts, index + 1, newStarts, ranges, remaining);
+        System.arraycopy(shifts, index + 1, newShifts, ranges, remaining);
+        rangeStarts = Arrays.copyOf(newStarts, ranges + remaining);
+        shifts = Arrays.copyOf(newShifts, ranges + remaining);
+    }
+
+    private void expand() {
+        final int[] expanded = new int[size];
+        for (int id = 0; id < size; id++) {
+            expanded[id] = getNewId(id);
+        }
+        this.expanded = expanded;
+        this.rangeStarts = null;
+        this.shifts = null;
+    }
+
+    private int rangeIndex(final int id) {
+        final int index = Arrays.binarySearch(rangeStarts, id);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int mappedSize() {
+        return mappedIds;
+    }
+
+    @Override
+    public Mappings inverse() {
+        final int[] inverse = new int[mappedIds];
+        Arrays.fill(inverse, -1);
+        for (int id = 0; id < size; id++) {
+            final int mappedId = getNewId(id);
+            if (mappedId != -1 && inverse[mappedId] == -1) {
+                inverse[mappedId] = id;
+            }
+        }
+
+        final RangeShiftMappings rangeShiftInverse = of(inverse, size, expanded != null ? MAX_RANGES : Math.max(rangeStarts.length * 2, 1));
+        return rangeShiftInverse != null ? rangeShiftInverse : IntArrayMappings.of(inverse, size);
+    }
+
+    @Override
+    public long heapSize() {
+        return expanded != null ? (long) expanded.length * Integer.BYTES : (long) rangeStarts.length * Integer.BYTES * 2;
+    }
+
+    /**
+     * Returns the amount of shifted ranges, or -1 if the mappings have been expanded into an array.
+     *
+     * @return amount of shifted ranges, or -1 if expanded
+     */
+    public int ranges() {
+        return expanded != null ? -1 : rangeStarts.length;
+    }
+}
@@ -163,8 +163,22 @@ public interface EntityTracker {
 
     EntityType playerType();
 
+    /**
+     * Returns the data of the given dimension if known.
+     *
+     * @param dimension dimension key
+     * @return dimension data if known
+     */
     @Nullable DimensionData dimensionData(String dimension);
 
+    /**
+     * Sets the known dimensions.
+     * <p>
+     * Implementations may store an immutable copy of the map that is shared with other connections sending equal dimensions.
+     * The given map may be modified afterwards without affecting the tracker, but the dimension data must not be modified.
+     *
+     * @param dimensions map of dimension keys to their data
+     */
     void setDimensions(Map<String, DimensionData> dimensions);
 
     /**
@@ -0,0 +1,193 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.debug;
+
+import com.google.common.annotations.Beta;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Counters and latency histograms of packet transformations, kept per protocol, direction, state, and packet id.
+ * <p>
+ * Each protocol's packet handlers are recorded separately, while the connection's protocol pipeline records
+ * the whole transformation of a packet including its serialized size before and after.
+ * <p>
+ * Packets that only had their id rewritten or were taken from the shared packet cache never reach the protocols'
+ * packet handlers, so they are only counted in the pipeline's entries, see {@link Result#ID_REWRITTEN} and {@link Result#CACHED}.
+ */
+@Beta
+public interface TransformMetrics {
+
+    /**
+     * Returns transform metrics that are always disabled and never record anything.
+     *
+     * @return disabled transform metrics
+     */
+    static TransformMetrics disabled() {
+        return DisabledTransformMetrics.INSTANCE;
+    }
+
+    /**
+     * Returns whether transformations are currently being recorded.
+     *
+     * @return whether transformations are being recorded
+     */
+    boolean enabled();
+
+    /**
+     * Sets whether transformations should be recorded.
+     *
+     * @param enabled whether transformations should be recorded
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Records a single packet transformation. Callers should check {@link #enabled()} before timing it.
+     *
+     * @param protocol         protocol or protocol pipeline that transformed the packet
+     * @param direction        packet direction
+     * @param state            protocol state the packet was transformed in
+     * @param unmappedPacketId packet id before the transformation
+     * @param bytesIn          serialized packet size before the transformation, or -1 if unknown
+     * @param bytesOut         serialized packet size after the transformation, or -1 if unknown
+     * @param nanos            time spent transforming the packet in nanoseconds
+     * @param result           result of the transformation
+     */
+    void record(Protocol<?, ?, ?, ?> protocol, Direction direction, State state, int unmappedPacketId, int bytesIn, int bytesOut, long nanos, Result result);
+
+    /**
+     * Returns a snapshot of all recorded entries, ordered by their total transformation time, highest first.
+     *
+     * @return snapshot of all recorded entries
+     */
+    List<Entry> entries();
+
+    /**
+     * Clears all recorded entries.
+     */
+    void reset();
+
+    enum Result {
+
+        TRANSFORMED,
+        /**
+         * Only the packet id was rewritten, without running any packet handlers.
+         */
+        ID_REWRITTEN,
+        /**
+         * The transformed packet was taken from the shared packet cache, without running any packet handlers.
+         */
+        CACHED,
+        CANCELLED,
+        /**
+         * An exception other than a cancellation was thrown.
+         */
+        FAILED
+    }
+
+    interface Entry {
+
+        /**
+         * Returns the class of the protocol or protocol pipeline this entry has been recorded for.
+         *
+         * @return protocol or protocol pipeline class
+         */
+        Class<? extends Protocol> protocolClass();
+
+        Direction direction();
+
+        State state();
+
+        /**
+         * Returns the packet id before the transformation.
+         *
+         * @return unmapped packet id
+         */
+        int packetId();
+
+        /**
+         * Returns the unmapped packet type of the entry's packet id if known to the protocol.
+         *
+         * @return unmapped packet type if known
+         */
+        @Nullable PacketType packetType();
+
+        /**
+         * Returns the number of transformed packets, including cancelled and failed ones.
+         *
+         * @return number of transformed packets
+         */
+        long count();
+
+        long cancelled();
+
+        long failed();
+
+        /**
+         * Returns the number of packets that only had their id rewritten, included in {@link #count()}.
+         *
+         * @return number of packets that only had their id rewritten
+         */
+        long idRewritten();
+
+        /**
+         * Returns the number of packets taken from the shared packet cache, included in {@link #count()}.
+         *
+         * @return number of packets taken from the shared packet cache
+         */
+        long cached();
+
+        /**
+         * Returns the total serialized size of the packets before being transformed, or 0 if not known.
+         *
+         * @return total size of the packets before being transformed
+         */
+        long bytesIn();
+
+        /**
+         * Returns the total serialized size of the packets after being transformed, or 0 if not known.
+         *
+         * @return total size of the packets after being transformed
+         */
+        long bytesOut();
+
+        /**
+         * Returns the total time spent transforming the packets in nanoseconds.
+         *
+         * @return total transformation time in nanoseconds
+         */
+        long nanos();
+
+        /**
+         * Returns an upper bound of the given percentile of transformation times, with a precision of a power of two.
+         *
+         * @param percentile percentile between 0 and 1
+         * @return upper bound of the percentile in nanoseconds
+         */
+        long percentileNanos(double percentile);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.chunks;
+
+import com.viaversion.viaversion.util.CompactArrayUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Indirect data palette keeping the values in their packed form as read from the buffer.
+ * Values are only unpacked when they are accessed, so rewriting just the palette entries
+ * allows the packed values to be written out again unchanged.
+ */
+public final class PackedDataPalette implements DataPalette {
+
+    private final DataPalette palette;
+    private final int bitsPerValue;
+    private final int valuesLength;
+    private long[] packedValues;
+
+    /**
+     * @param palette      palette containing the palette entries, but no values
+     * @param packedValues packed palette indexes with padding
+     * @param bitsPerValue bits per packed value
+     * @param valuesLength amount of values
+     */
+    public PackedDataPalette(final DataPalette palette, final long[] packedValues, final int bitsPerValue, final int valuesLength) {
+        this.palette = palette;
+        this.packedValues = packedValues;
+        this.bitsPerValue = bitsPerValue;
+        this.valuesLength = valuesLength;
+    }
+
+    /**
+     * Returns the packed palette indexes if they have not been unpacked or changed yet.
+     *
+     * @return packed palette indexes, or null if unpacked
+     */
+    public long @Nullable [] packedValues() {
+        return packedValues;
+    }
+
+    /**
+     * Returns the bits per value of the packed palette indexes.
+     *
+     * @return bits per value of the packed palette indexes
+     */
+    public int bitsPerValue() {
+        return bitsPerValue;
+    }
+
+    private DataPalette unpacked() {
+        if (packedValues != null) {
+            CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, valuesLength, packedValues, palette::setPaletteIndexAt);
+            packedValues = null;
+        }
+        return palette;
+    }
+
+    @Override
+    public int index(final int x, final int y, final int z) {
+        return palette.index(x, y, z);
+    }
+
+    @Override
+    public int idAt(final int sectionCoordinate) {
+        return unpacked().idAt(sectionCoordinate);
+    }
+
+    @Override
+    public void setIdAt(final int sectionCoordinate, final int id) {
+        unpacked().setIdAt(sectionCoordinate, id);
+    }
+
+    @Override
+    public int idByIndex(final int index) {
+        return palette.idByIndex(index);
+    }
+
+    @Override
+    public void setIdByIndex(final int index, final int id) {
+        palette.setIdByIndex(index, id);
+    }
+
+    @Override
+    public int paletteIndexAt(final int packedCoordinate) {
+        return unpacked().paletteIndexAt(packedCoordinate);
+    }
+
+    @Override
+    public void setPaletteIndexAt(final int sectionCoordinate, final int index) {
+        unpacked().setPaletteIndexAt(sectionCoordinate, index);
+    }
+
+    @Override
+    public void addId(final int id) {
+        // May change the required bits per value
+        unpacked().addId(id);
+    }
+
+    @Override
+    public void replaceId(final int oldId, final int newId) {
+        palette.replaceId(oldId, newId);
+    }
+
+    @Override
+    public int size() {
+        return palette.size();
+    }
+
+    @Override
+    public void clear() {
+        unpacked().clear();
+    }
+}
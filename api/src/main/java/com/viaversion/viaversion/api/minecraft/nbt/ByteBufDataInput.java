@@ -0,0 +1,200 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.nbt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufProcessor;
+import java.io.DataInput;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * {@link DataInput} reading directly from a {@link ByteBuf}, advancing its reader index.
+ * <p>
+ * Strings are decoded from the buffer's backing memory in a single pass, with a fast path for ASCII-only strings.
+ */
+public final class ByteBufDataInput implements DataInput {
+    private static final ByteBufProcessor FIND_NON_ASCII = value -> value >= 0;
+    private final ByteBuf buffer;
+
+    public ByteBufDataInput(final ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void readFully(final byte[] b) {
+        buffer.readBytes(b);
+    }
+
+    @Override
+    public void readFully(final byte[] b, final int off, final int len) {
+        buffer.readBytes(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(final int n) {
+        final int skipped = Math.min(n, buffer.readableBytes());
+        buffer.skipBytes(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return buffer.readBoolean();
+    }
+
+    @Override
+    public byte readByte() {
+        return buffer.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() {
+        return buffer.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() {
+        return buffer.readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() {
+        return buffer.readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() {
+        return buffer.readChar();
+    }
+
+    @Override
+    public int readInt() {
+        return buffer.readInt();
+    }
+
+    @Override
+    public long readLong() {
+        return buffer.readLong();
+    }
+
+    @Override
+    public float readFloat() {
+        return buffer.readFloat();
+    }
+
+    @Override
+    public double readDouble() {
+        return buffer.readDouble();
+    }
+
+    /**
+     * Reads a line of bytes converted to chars like {@link java.io.DataInputStream#readLine()},
+     * terminated by a line feed, carriage return, both, or the end of the buffer.
+     *
+     * @return line without the line terminator, or null if the end of the buffer has been reached before reading any byte
+     */
+    @Override
+    public @Nullable String readLine() {
+        if (!buffer.isReadable()) {
+            return null;
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        while (buffer.isReadable()) {
+            final int c = buffer.readUnsignedByte();
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (buffer.isReadable() && buffer.getByte(buffer.readerIndex()) == '\n') {
+                    buffer.skipBytes(1);
+                }
+                break;
+            }
+            builder.append((char) c);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String readUTF() throws UTFDataFormatException {
+        return readUTF(buffer);
+    }
+
+    /**
+     * Reads a string in modified UTF-8 as specified by {@link DataInput#readUTF()}.
+     *
+     * @param buffer buffer to read from
+     * @return read string
+     * @throws UTFDataFormatException if the bytes are not valid modified UTF-8
+     */
+    public static String readUTF(final ByteBuf buffer) throws UTFDataFormatException {
+        final int length = buffer.readUnsignedShort();
+        final int start = buffer.readerIndex();
+        if (buffer.forEachByte(start, length, FIND_NON_ASCII) == -1) {
+            final String string = buffer.toString(start, length, StandardCharsets.US_ASCII);
+            buffer.skipBytes(length);
+            return string;
+        }
+
+        final char[] chars = new char[length];
+        final int end = start + length;
+        int count = 0;
+        int index = start;
+        while (index < end) {
+            final int c = buffer.getByte(index) & 0xFF;
+            if (c < 0x80) {
+                chars[count++] = (char) c;
+                index++;
+            } else if ((c >> 5) == 0x06) {
+                if (index + 2 > end) {
+                    throw new UTFDataFormatException("Malformed input: partial character at end");
+                }
+                final int c2 = buffer.getByte(index + 1);
+                if ((c2 & 0xC0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input around byte " + (index - start));
+                }
+                chars[count++] = (char) (((c & 0x1F) << 6) | (c2 & 0x3F));
+                index += 2;
+            } else if ((c >> 4) == 0x0E) {
+                if (index + 3 > end) {
+                    throw new UTFDataFormatException("Malformed input: partial character at end");
+                }
+                final int c2 = buffer.getByte(index + 1);
+                final int c3 = buffer.getByte(index + 2);
+                if ((c2 & 0xC0) != 0x80 || (c3 & 0xC0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input around byte " + (index - start));
+                }
+                chars[count++] = (char) (((c & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                index += 3;
+            } else {
+                throw new UTFDataFormatException("Malformed input around byte " + (index - start));
+            }
+        }
+
+        buffer.skipBytes(length);
+        return new String(chars, 0, count);
+    }
+}
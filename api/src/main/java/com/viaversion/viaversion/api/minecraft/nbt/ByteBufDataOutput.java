@@ -0,0 +1,158 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.nbt;
+
+import io.netty.buffer.ByteBuf;
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+
+/**
+ * {@link DataOutput} writing directly to a {@link ByteBuf}.
+ * <p>
+ * Strings are encoded into the buffer in a single pass, with a fast path for ASCII-only strings.
+ */
+public final class ByteBufDataOutput implements DataOutput {
+    private final ByteBuf buffer;
+
+    public ByteBufDataOutput(final ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(final int b) {
+        buffer.writeByte(b);
+    }
+
+    @Override
+    public void write(final byte[] b) {
+        buffer.writeBytes(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        buffer.writeBytes(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(final boolean v) {
+        buffer.writeBoolean(v);
+    }
+
+    @Override
+    public void writeByte(final int v) {
+        buffer.writeByte(v);
+    }
+
+    @Override
+    public void writeShort(final int v) {
+        buffer.writeShort(v);
+    }
+
+    @Override
+    public void writeChar(final int v) {
+        buffer.writeChar(v);
+    }
+
+    @Override
+    public void writeInt(final int v) {
+        buffer.writeInt(v);
+    }
+
+    @Override
+    public void writeLong(final long v) {
+        buffer.writeLong(v);
+    }
+
+    @Override
+    public void writeFloat(final float v) {
+        buffer.writeFloat(v);
+    }
+
+    @Override
+    public void writeDouble(final double v) {
+        buffer.writeDouble(v);
+    }
+
+    @Override
+    public void writeBytes(final String s) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.writeByte(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(final String s) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(final String s) throws UTFDataFormatException {
+        writeUTF(buffer, s);
+    }
+
+    /**
+     * Writes a string in modified UTF-8 as specified by {@link DataOutput#writeUTF(String)}.
+     *
+     * @param buffer buffer to write to
+     * @param s      string to write
+     * @throws UTFDataFormatException if the encoded string is longer than 65535 bytes
+     */
+    public static void writeUTF(final ByteBuf buffer, final String s) throws UTFDataFormatException {
+        final int length = s.length();
+        int encodedLength = length;
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c == 0 || c >= 0x80) {
+                encodedLength += c >= 0x800 ? 2 : 1;
+            }
+        }
+        if (encodedLength > 0xFFFF) {
+            throw new UTFDataFormatException("Encoded string too long: " + encodedLength + " bytes");
+        }
+
+        buffer.writeShort(encodedLength);
+        buffer.ensureWritable(encodedLength);
+        if (encodedLength == length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeByte(s.charAt(i));
+            }
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c != 0 && c < 0x80) {
+                buffer.writeByte(c);
+            } else if (c < 0x800) {
+                buffer.writeByte(0xC0 | (c >> 6));
+                buffer.writeByte(0x80 | (c & 0x3F));
+            } else {
+                buffer.writeByte(0xE0 | (c >> 12));
+                buffer.writeByte(0x80 | ((c >> 6) & 0x3F));
+                buffer.writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.nbt;
+
+import com.github.steveice10.opennbt.tag.TagRegistry;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.github.steveice10.opennbt.tag.limiter.TagLimiter;
+import com.google.common.base.Preconditions;
+import com.viaversion.viaversion.api.type.types.misc.NamedCompoundTagType;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Set of changes to the entries of a compound tag, applied while streaming its binary form from one buffer to another.
+ * <p>
+ * Only patched values are read into tag objects; all other entries, including nested compounds without changes,
+ * are copied as raw byte ranges without being decoded.
+ */
+public final class CompoundTagPatch {
+    private static final byte END_ID = 0;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private boolean hasAdditions;
+
+    /**
+     * Renames the entry with the given key, keeping its value and any other changes made to it.
+     *
+     * @param key    key of the entry
+     * @param newKey new key of the entry
+     * @return this patch
+     */
+    public CompoundTagPatch rename(final String key, final String newKey) {
+        entry(key).newKey = newKey;
+        return this;
+    }
+
+    /**
+     * Removes the entry with the given key.
+     *
+     * @param key key of the entry
+     * @return this patch
+     */
+    public CompoundTagPatch remove(final String key) {
+        entry(key).remove = true;
+        return this;
+    }
+
+    /**
+     * Replaces the value of the entry with the given key, if present.
+     * The value is only read into a tag object for this entry.
+     *
+     * @param key      key of the entry
+     * @param function function returning the new value, or null to remove the entry
+     * @return this patch
+     */
+    public CompoundTagPatch replace(final String key, final Function<Tag, @Nullable Tag> function) {
+        entry(key).replacer = function;
+        return this;
+    }
+
+    /**
+     * Sets the value of the entry with the given key, adding it if not present.
+     *
+     * @param key key of the entry
+     * @param tag new value
+     * @return this patch
+     */
+    public CompoundTagPatch put(final String key, final Tag tag) {
+        final Entry entry = entry(key);
+        entry.replacer = previous -> tag;
+        entry.addition = tag;
+        hasAdditions = true;
+        return this;
+    }
+
+    /**
+     * Returns the patch applied to the compound tag value of the entry with the given key, creating it if needed.
+     * The patch is ignored if the value is not a compound tag.
+     *
+     * @param key key of the entry
+     * @return patch of the nested compound tag
+     */
+    public CompoundTagPatch compound(final String key) {
+        final Entry entry = entry(key);
+        if (entry.nested == null) {
+            entry.nested = new CompoundTagPatch();
+        }
+        return entry.nested;
+    }
+
+    /**
+     * Reads a compound tag as written by {@link NamedCompoundTagType}, applies this patch, and writes the result to the output buffer.
+     *
+     * @param input    buffer to read the compound tag from
+     * @param output   buffer to write the patched compound tag to
+     * @param withName whether the root tag has a name
+     * @throws IOException if the input is not a valid compound tag
+     */
+    public void apply(final ByteBuf input, final ByteBuf output, final boolean withName) throws IOException {
+        final byte id = input.readByte();
+        output.writeByte(id);
+        if (id == END_ID) {
+            return;
+        }
+        if (id != CompoundTag.ID) {
+            throw new IOException(String.format("Expected root tag to be a CompoundTag, was %s", id));
+        }
+
+        if (withName) {
+            final int nameStart = input.readerIndex();
+            input.skipBytes(input.readUnsignedShort());
+            output.writeBytes(input, nameStart, input.readerIndex() - nameStart);
+        }
+
+        final TagLimiter tagLimiter = TagLimiter.create(NamedCompoundTagType.MAX_NBT_BYTES, NamedCompoundTagType.MAX_NESTING_LEVEL);
+        applyToPayload(input, output, tagLimiter, 0);
+    }
+
+    private void applyToPayload(final ByteBuf input, final ByteBuf output, final TagLimiter tagLimiter, final int nestingLevel) throws IOException {
+        checkNestingLevel(nestingLevel);
+        final Set<String> present = hasAdditions ? new HashSet<>() : null;
+        while (true) {
+            final int entryStart = input.readerIndex();
+            final byte type = input.readByte();
+            if (type == END_ID) {
+                break;
+            }
+
+            final int nameStart = input.readerIndex();
+            final int nameLength = input.readUnsignedShort();
+            final Entry entry;
+            if (entries.isEmpty()) {
+                entry = null;
+                input.skipBytes(nameLength);
+            } else {
+                input.readerIndex(nameStart);
+                final String key = ByteBufDataInput.readUTF(input);
+                entry = entries.get(key);
+                if (present != null) {
+                    present.add(key);
+                }
+            }
+
+            if (entry == null) {
+                skipPayload(input, type, nestingLevel + 1);
+                output.writeBytes(input, entryStart, input.readerIndex() - entryStart);
+                continue;
+            }
+
+            if (entry.remove) {
+                skipPayload(input, type, nestingLevel + 1);
+                continue;
+            }
+
+            if (entry.replacer != null) {
+                final Tag tag = TagRegistry.read(type, new ByteBufDataInput(input), tagLimiter, nestingLevel + 1);
+                final Tag replaced = entry.replacer.apply(tag);
+                if (replaced != null) {
+                    writeEntryHead(output, replaced.getTagId(), entry.newKey, input, nameStart);
+                    replaced.write(new ByteBufDataOutput(output));
+                }
+                continue;
+            }
+
+            writeEntryHead(output, type, entry.newKey, input, nameStart);
+            if (entry.nested != null && type == CompoundTag.ID) {
+                entry.nested.applyToPayload(input, output, tagLimiter, nestingLevel + 1);
+            } else {
+                final int payloadStart = input.readerIndex();
+                skipPayload(input, type, nestingLevel + 1);
+                output.writeBytes(input, payloadStart, input.readerIndex() - payloadStart);
+            }
+        }
+
+        if (present != null) {
+            for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+                final Tag addition = entry.getValue().addition;
+                if (addition != null && !present.contains(entry.getKey())) {
+                    final String key = entry.getValue().newKey != null ? entry.getValue().newKey : entry.getKey();
+                    output.writeByte(addition.getTagId());
+                    ByteBufDataOutput.writeUTF(output, key);
+                    addition.write(new ByteBufDataOutput(output));
+                }
+            }
+        }
+        output.writeByte(END_ID);
+    }
+
+    private static void writeEntryHead(final ByteBuf output, final int type, final @Nullable String newKey,
+                                       final ByteBuf input, final int nameStart) throws IOException {
+        output.writeByte(type);
+        if (newKey != null) {
+            ByteBufDataOutput.writeUTF(output, newKey);
+        } else {
+            output.writeBytes(input, nameStart, input.getUnsignedShort(nameStart) + Short.BYTES);
+        }
+    }
+
+    /**
+     * Skips the payload of a tag of the given type without reading it into a tag object.
+     *
+     * @param input        buffer to skip the payload in
+     * @param type         tag type id
+     * @param nestingLevel nesting level of the tag
+     * @throws IOException if the tag type is unknown or the tag is nested too deeply
+     */
+    public static void skipPayload(final ByteBuf input, final byte type, final int nestingLevel) throws IOException {
+        switch (type) {
+            case 1: // Byte
+                input.skipBytes(Byte.BYTES);
+                break;
+            case 2: // Short
+                input.skipBytes(Short.BYTES);
+                break;
+            case 3: // Int
+            case 5: // Float
+                input.skipBytes(Integer.BYTES);
+                break;
+            case 4: // Long
+            case 6: // Double
+                input.skipBytes(Long.BYTES);
+                break;
+            case 7: // Byte array
+                input.skipBytes(checkLength(input.readInt()));
+                break;
+            case 8: // String
+                input.skipBytes(input.readUnsignedShort());
+                break;
+            case 9: { // List
+                checkNestingLevel(nestingLevel);
+                final byte elementType = input.readByte();
+                final int size = checkLength(input.readInt());
+                final int fixedSize = fixedPayloadSize(elementType);
+                if (fixedSize != -1) {
+                    input.skipBytes(Math.multiplyExact(size, fixedSize));
+                } else {
+                    for (int i = 0; i < size; i++) {
+                        skipPayload(input, elementType, nestingLevel + 1);
+                    }
+                }
+                break;
+            }
+            case 10: { // Compound
+                checkNestingLevel(nestingLevel);
+                byte entryType;
+                while ((entryType = input.readByte()) != END_ID) {
+                    input.skipBytes(input.readUnsignedShort());
+                    skipPayload(input, entryType, nestingLevel + 1);
+                }
+                break;
+            }
+            case 11: // Int array
+                input.skipBytes(Math.multiplyExact(checkLength(input.readInt()), Integer.BYTES));
+                break;
+            case 12: // Long array
+                input.skipBytes(Math.multiplyExact(checkLength(input.readInt()), Long.BYTES));
+                break;
+            default:
+                throw new IOException("Unknown tag type " + type);
+        }
+    }
+
+    private static int fixedPayloadSize(final byte type) {
+        switch (type) {
+            case 0: // Empty list
+                return 0;
+            case 1:
+                return Byte.BYTES;
+            case 2:
+                return Short.BYTES;
+            case 3:
+            case 5:
+                return Integer.BYTES;
+            case 4:
+            case 6:
+                return Long.BYTES;
+            default:
+                return -1;
+        }
+    }
+
+    private static int checkLength(final int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative length " + length);
+        }
+        return length;
+    }
+
+    private static void checkNestingLevel(final int nestingLevel) throws IOException {
+        if (nestingLevel > NamedCompoundTagType.MAX_NESTING_LEVEL) {
+            throw new IOException("Nesting level " + nestingLevel + " is higher than the maximum of " + NamedCompoundTagType.MAX_NESTING_LEVEL);
+        }
+    }
+
+    private Entry entry(final String key) {
+        Preconditions.checkNotNull(key);
+        return entries.computeIfAbsent(key, k -> new Entry());
+    }
+
+    private static final class Entry {
+        private String newKey;
+        private boolean remove;
+        private Function<Tag, @Nullable Tag> replacer;
+        private Tag addition;
+        private CompoundTagPatch nested;
+    }
+}
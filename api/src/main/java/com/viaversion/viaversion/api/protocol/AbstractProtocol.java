@@ -26,6 +26,7 @@ import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
@@ -44,7 +45,9 @@ import com.viaversion.viaversion.exception.InformativeException;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -68,6 +71,8 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
     protected final PacketMappings clientboundMappings;
     protected final PacketMappings serverboundMappings;
     private final Map<Class<?>, Object> storedObjects = new HashMap<>();
+    private final Set<PacketMapping> cacheableClientboundMappings = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final boolean transformOverridden = isTransformOverridden();
     private boolean initialized;
 
     @Deprecated
@@ -375,15 +380,122 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         return serverboundMappings.hasMapping(state, unmappedPacketId);
     }
 
+    @Override
+    public void setClientboundCacheable(State state, int unmappedPacketId, boolean cacheable) {
+        PacketMapping packetMapping = clientboundMappings.mappedPacket(state, unmappedPacketId);
+        Preconditions.checkArgument(packetMapping != null, "Packet %s in state %s is not registered", unmappedPacketId, state);
+        if (cacheable) {
+            cacheableClientboundMappings.add(packetMapping);
+        } else {
+            cacheableClientboundMappings.remove(packetMapping);
+        }
+    }
+
+    /**
+     * Returns whether the given clientbound packet mapping has been marked as cacheable.
+     *
+     * @param packetMapping clientbound packet mapping of this protocol
+     * @return whether the transformed packet may be shared between connections
+     * @see #setClientboundCacheable(State, int, boolean)
+     */
+    public boolean isClientboundCacheable(PacketMapping packetMapping) {
+        return cacheableClientboundMappings.contains(packetMapping);
+    }
+
+    /**
+     * Returns the packet mapping registered for the given unmapped packet id.
+     *
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return packet mapping if present
+     */
+    public @Nullable PacketMapping packetMapping(Direction direction, State state, int unmappedId) {
+        PacketMappings mappings = direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
+        return mappings.mappedPacket(state, unmappedId);
+    }
+
+    /**
+     * Returns whether packets of the given direction and state are transformed only through their registered
+     * packet mappings. If true, packets without a packet handler may be remapped without calling
+     * {@link #transform(Direction, State, PacketWrapper)}.
+     * <p>
+     * By default, this is true if the transform method is not overridden.
+     * Protocols overriding it for specific states only should override this method accordingly.
+     *
+     * @param direction packet direction
+     * @param state     protocol state
+     * @return whether packets are transformed only through their packet mappings
+     */
+    public boolean transformsByMappingsOnly(Direction direction, State state) {
+        return !transformOverridden;
+    }
+
+    private boolean isTransformOverridden() {
+        try {
+            return getClass().getMethod("transform", Direction.class, State.class, PacketWrapper.class).getDeclaringClass() != AbstractProtocol.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
     @Override
     public void transform(Direction direction, State state, PacketWrapper packetWrapper) throws Exception {
         PacketMappings mappings = direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
-        int unmappedId = packetWrapper.getId();
-        PacketMapping packetMapping = mappings.mappedPacket(state, unmappedId);
-        if (packetMapping == null) {
+        PacketMapping packetMapping = mappings.mappedPacket(state, packetWrapper.getId());
+        if (packetMapping != null) {
+            transform(direction, state, packetWrapper, packetMapping);
+        }
+    }
+
+    /**
+     * Transforms a packet with an already looked up packet mapping of this protocol.
+     *
+     * @param direction     packet direction
+     * @param state         protocol state
+     * @param packetWrapper packet wrapper
+     * @param packetMapping packet mapping registered for the packet's current id
+     * @throws Exception if transforming the packet fails
+     * @see #packetMapping(Direction, State, int)
+     */
+    public void transform(Direction direction, State state, PacketWrapper packetWrapper, PacketMapping packetMapping) throws Exception {
+        transform(direction, state, packetWrapper, packetMapping, Via.getManager().transformMetrics());
+    }
+
+    /**
+     * Transforms a packet with an already looked up packet mapping of this protocol, recording it to the given metrics.
+     * Callers transforming a packet through multiple protocols should look up the metrics once for all of them.
+     *
+     * @param direction     packet direction
+     * @param state         protocol state
+     * @param packetWrapper packet wrapper
+     * @param packetMapping packet mapping registered for the packet's current id
+     * @param metrics       transform metrics, as returned by {@link com.viaversion.viaversion.api.ViaManager#transformMetrics()}
+     * @throws Exception if transforming the packet fails
+     */
+    public void transform(Direction direction, State state, PacketWrapper packetWrapper, PacketMapping packetMapping, TransformMetrics metrics) throws Exception {
+        if (!metrics.enabled()) {
+            applyMapping(direction, state, packetWrapper, packetMapping);
             return;
         }
 
+        final int unmappedId = packetWrapper.getId();
+        final long start = System.nanoTime();
+        TransformMetrics.Result result = TransformMetrics.Result.FAILED;
+        try {
+            applyMapping(direction, state, packetWrapper, packetMapping);
+            result = TransformMetrics.Result.TRANSFORMED;
+        } catch (CancelException e) {
+            result = TransformMetrics.Result.CANCELLED;
+            throw e;
+        } finally {
+            metrics.record(this, direction, state, unmappedId, -1, -1, System.nanoTime() - start, result);
+        }
+    }
+
+    private void applyMapping(Direction direction, State state, PacketWrapper packetWrapper, PacketMapping packetMapping) throws Exception {
+        int unmappedId = packetWrapper.getId();
+
         // Change packet id and apply remapping
         packetMapping.applyType(packetWrapper);
         PacketHandler handler = packetMapping.handler();
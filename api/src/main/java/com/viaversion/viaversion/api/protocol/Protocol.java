@@ -239,6 +239,32 @@ public interface Protocol<CU extends ClientboundPacketType, CM extends Clientbou
      */
     boolean hasRegisteredServerbound(State state, int unmappedPacketId);
 
+    /**
+     * Sets whether the output of the currently registered clientbound packet handler only depends on the packet's
+     * content, so that the transformed bytes may be shared between connections with the same protocol path.
+     * Handlers reading or mutating per-user storage must not be marked cacheable.
+     * <p>
+     * The flag is reset whenever the packet is registered again.
+     *
+     * @param state            state which the packet is sent in
+     * @param unmappedPacketId unmapped packet id
+     * @param cacheable        whether the transformed packet may be shared between connections
+     */
+    default void setClientboundCacheable(State state, int unmappedPacketId, boolean cacheable) {
+    }
+
+    /**
+     * Sets whether the output of the currently registered clientbound packet handler only depends on the packet's
+     * content, so that the transformed bytes may be shared between connections with the same protocol path.
+     *
+     * @param packetType clientbound packet type
+     * @param cacheable  whether the transformed packet may be shared between connections
+     * @see #setClientboundCacheable(State, int, boolean)
+     */
+    default void setClientboundCacheable(ClientboundPacketType packetType, boolean cacheable) {
+        setClientboundCacheable(packetType.state(), packetType.getId(), cacheable);
+    }
+
     /**
      * Transform a packet using this protocol
      *
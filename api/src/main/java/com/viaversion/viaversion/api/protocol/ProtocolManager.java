@@ -227,6 +227,7 @@ public interface ProtocolManager {
 
     /**
      * Returns the maximum protocol path size applied to {@link #getProtocolPath(int, int)}.
+     * Paths are only extended while they have at most this many entries, so found paths may hold one entry more.
      *
      * @return maximum protocol path size
      */
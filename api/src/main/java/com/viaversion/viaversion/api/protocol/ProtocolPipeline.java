@@ -23,6 +23,8 @@
 package com.viaversion.viaversion.api.protocol;
 
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
 import java.util.Collection;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -87,6 +89,33 @@ public interface ProtocolPipeline extends SimpleProtocol {
      */
     boolean hasNonBaseProtocols();
 
+    /**
+     * Returns the packet id a packet ends up with if no protocol in this pipeline has to handle it beyond changing
+     * its id. Such packets can be remapped without creating a packet wrapper.
+     *
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return mapped packet id, or -1 if the packet has to go through the full transformation
+     */
+    default int mappedIdWithoutHandlers(Direction direction, State state, int unmappedId) {
+        return -1;
+    }
+
+    /**
+     * Returns whether all packet handlers applied to the given packet have been marked as cacheable, meaning the
+     * transformed packet may be shared with other connections using the same protocols.
+     *
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return whether the transformed packet may be shared between connections
+     * @see Protocol#setClientboundCacheable(State, int, boolean)
+     */
+    default boolean isTransformCacheable(Direction direction, State state, int unmappedId) {
+        return false;
+    }
+
     /**
      * Cleans the pipe and adds the base protocol.
      * /!\ WARNING - It doesn't add version-specific base Protocol.
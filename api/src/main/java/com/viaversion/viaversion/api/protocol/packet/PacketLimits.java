@@ -0,0 +1,179 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.protocol.packet;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.configuration.ViaVersionConfig;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypeMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Packet costs and packet type limits from the config resolved to the serverbound play packet ids of a client version.
+ */
+final class PacketLimits {
+    static final PacketLimits NONE = new PacketLimits(null, null, new int[0], new int[0], new int[0]);
+    private static final Map<Class<?>, PacketLimits> CACHE = new ConcurrentHashMap<>();
+    private static final Set<String> WARNED_NAMES = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> costsSource;
+    private final Map<String, Integer> limitsSource;
+    private final int[] costs;
+    private final int[] limitSlots;
+    private final int[] limits;
+
+    private PacketLimits(@Nullable Map<String, Integer> costsSource, @Nullable Map<String, Integer> limitsSource,
+                         int[] costs, int[] limitSlots, int[] limits) {
+        this.costsSource = costsSource;
+        this.limitsSource = limitsSource;
+        this.costs = costs;
+        this.limitSlots = limitSlots;
+        this.limits = limits;
+    }
+
+    /**
+     * Returns the packet limits for the client version of the given pipeline.
+     *
+     * @param config   config to read the costs and limits from
+     * @param pipeline pipeline of the connection
+     * @return packet limits, {@link #NONE} if the client's packet types are unknown, e.g. for the server's own version
+     */
+    static PacketLimits of(ViaVersionConfig config, ProtocolPipeline pipeline) {
+        Protocol<?, ?, ?, ?> clientProtocol = null;
+        for (Protocol<?, ?, ?, ?> protocol : pipeline.pipes()) {
+            if (!protocol.isBaseProtocol()) {
+                clientProtocol = protocol;
+                break;
+            }
+        }
+        if (clientProtocol == null) {
+            return NONE;
+        }
+
+        PacketLimits limits = CACHE.get(clientProtocol.getClass());
+        if (limits == null || !limits.matches(config)) {
+            limits = resolve(config, clientProtocol);
+            CACHE.put(clientProtocol.getClass(), limits);
+        }
+        return limits;
+    }
+
+    private static PacketLimits resolve(ViaVersionConfig config, Protocol<?, ?, ?, ?> protocol) {
+        Map<String, Integer> costsSource = config.getPacketCosts();
+        Map<String, Integer> limitsSource = config.getPacketTypeLimits();
+        PacketTypeMap<? extends ServerboundPacketType> packetTypes = protocol.getPacketTypesProvider().unmappedServerboundPacketTypes().get(State.PLAY);
+        if (packetTypes == null) {
+            return new PacketLimits(costsSource, limitsSource, new int[0], new int[0], new int[0]);
+        }
+
+        int maxId = -1;
+        for (ServerboundPacketType type : packetTypes.types()) {
+            maxId = Math.max(maxId, type.getId());
+        }
+
+        int[] costs = new int[maxId + 1];
+        Arrays.fill(costs, 1);
+        for (Map.Entry<String, Integer> entry : costsSource.entrySet()) {
+            ServerboundPacketType type = packetTypes.typeByName(entry.getKey());
+            if (type != null) {
+                costs[type.getId()] = entry.getValue();
+            } else {
+                warnIfUnknown("packet-costs", entry.getKey());
+            }
+        }
+
+        int[] limitSlots = new int[maxId + 1];
+        Arrays.fill(limitSlots, -1);
+        int[] limits = new int[limitsSource.size()];
+        int slots = 0;
+        for (Map.Entry<String, Integer> entry : limitsSource.entrySet()) {
+            ServerboundPacketType type = packetTypes.typeByName(entry.getKey());
+            if (type == null) {
+                warnIfUnknown("packet-type-limits", entry.getKey());
+            } else if (limitSlots[type.getId()] == -1) {
+                limitSlots[type.getId()] = slots;
+                limits[slots++] = entry.getValue();
+            }
+        }
+        return new PacketLimits(costsSource, limitsSource, costs, limitSlots, Arrays.copyOf(limits, slots));
+    }
+
+    private static void warnIfUnknown(String option, String name) {
+        if (WARNED_NAMES.contains(name)) {
+            return;
+        }
+
+        // Names of other versions are expected, only warn if no client version knows the packet type
+        for (Protocol<?, ?, ?, ?> protocol : Via.getManager().getProtocolManager().getProtocols()) {
+            PacketTypeMap<? extends ServerboundPacketType> packetTypes = protocol.getPacketTypesProvider().unmappedServerboundPacketTypes().get(State.PLAY);
+            if (packetTypes != null && packetTypes.typeByName(name) != null) {
+                return;
+            }
+        }
+
+        if (WARNED_NAMES.add(name)) {
+            Via.getPlatform().getLogger().warning("Unknown serverbound packet type " + name + " in " + option + ", it will be ignored");
+        }
+    }
+
+    private boolean matches(ViaVersionConfig config) {
+        // Config reloads create new maps
+        return costsSource == config.getPacketCosts() && limitsSource == config.getPacketTypeLimits();
+    }
+
+    /**
+     * Returns whether these limits are still the ones of the current config.
+     *
+     * @param config current config
+     * @return true if the limits are up to date, always true for {@link #NONE}
+     */
+    boolean isCurrent(ViaVersionConfig config) {
+        return this == NONE || matches(config);
+    }
+
+    int cost(int packetId) {
+        return packetId >= 0 && packetId < costs.length ? costs[packetId] : 1;
+    }
+
+    /**
+     * Returns the slot of the packet type limit for the given packet id.
+     *
+     * @param packetId packet id
+     * @return slot of the packet type limit, or -1 if not limited
+     */
+    int limitSlot(int packetId) {
+        return packetId >= 0 && packetId < limitSlots.length ? limitSlots[packetId] : -1;
+    }
+
+    int limit(int slot) {
+        return limits[slot];
+    }
+
+    int limitSlots() {
+        return limits.length;
+    }
+}
@@ -25,6 +25,8 @@ package com.viaversion.viaversion.api.protocol.packet;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.configuration.ViaVersionConfig;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.util.CoarseClock;
 
 public class PacketTracker {
     private final UserConnection connection;
@@ -37,6 +39,13 @@ public class PacketTracker {
     // Used for handling warnings (over time)
     private int secondsObserved;
     private int warnings;
+    // Token buckets for the weighted packet budget and packet type limits, in thousandths of a packet
+    private PacketLimits limits;
+    private long budgetTokens;
+    private long budgetRefillTime;
+    private long[] typeTokens;
+    private long[] typeRefillTimes;
+    private ViaVersionConfig config;
 
     public PacketTracker(UserConnection connection) {
         this.connection = connection;
@@ -56,10 +65,10 @@ public class PacketTracker {
      */
     public boolean incrementReceived() {
         // handle stats
-        long diff = System.currentTimeMillis() - startTime;
-        if (diff >= 1000) {
+        long now = CoarseClock.millis();
+        if (now - startTime >= 1000) {
             packetsPerSecond = intervalPackets;
-            startTime = System.currentTimeMillis();
+            startTime = now;
             intervalPackets = 1;
             return true;
         } else {
@@ -79,7 +88,7 @@ public class PacketTracker {
      */
     public boolean exceedsMaxPPS() {
         if (connection.isClientSide()) return false; // Don't apply PPS limiting for client-side
-        ViaVersionConfig conf = Via.getConfig();
+        ViaVersionConfig conf = config();
         // Max PPS Checker
         if (conf.getMaxPPS() > 0 && packetsPerSecond >= conf.getMaxPPS()) {
             connection.disconnect(conf.getMaxPPSKickMessage().replace("%pps", Long.toString(packetsPerSecond)));
@@ -107,6 +116,66 @@ public class PacketTracker {
         return false;
     }
 
+    /**
+     * Checks a serverbound play packet against the weighted packet budget and the packet type limits.
+     * Exceeding the budget disconnects the user, exceeding a packet type limit only drops the packet.
+     *
+     * @param pipeline pipeline of the connection, used to resolve the packet types of the client version
+     * @param packetId unmapped serverbound packet id
+     * @return true if the packet should be cancelled
+     */
+    public boolean exceedsPacketLimits(ProtocolPipeline pipeline, int packetId) {
+        if (connection.isClientSide()) return false;
+        ViaVersionConfig conf = config();
+        PacketLimits limits = this.limits;
+        if (limits == null || !limits.isCurrent(conf)) {
+            limits = this.limits = PacketLimits.of(conf, pipeline);
+            typeTokens = new long[limits.limitSlots()];
+            typeRefillTimes = new long[limits.limitSlots()];
+            budgetRefillTime = 0;
+        }
+
+        long now = CoarseClock.millis();
+        int slot = limits.limitSlot(packetId);
+        if (slot != -1) {
+            int limit = limits.limit(slot);
+            long tokens = refill(typeTokens[slot], typeRefillTimes[slot], now, limit);
+            typeRefillTimes[slot] = now;
+            if (tokens < 1000) {
+                typeTokens[slot] = tokens;
+                return true; // drop the packet
+            }
+            typeTokens[slot] = tokens - 1000;
+        }
+
+        int maxBudget = conf.getMaxPacketBudget();
+        if (maxBudget > 0) {
+            budgetTokens = refill(budgetTokens, budgetRefillTime, now, maxBudget) - limits.cost(packetId) * 1000L;
+            budgetRefillTime = now;
+            if (budgetTokens < 0) {
+                connection.disconnect(conf.getPacketBudgetKickMessage());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long refill(long tokens, long lastRefill, long now, int perSecond) {
+        long capacity = perSecond * 1000L;
+        if (lastRefill == 0) {
+            return capacity;
+        }
+        // perSecond tokens per 1000ms, stored in thousandths
+        return Math.min(capacity, tokens + (now - lastRefill) * perSecond);
+    }
+
+    private ViaVersionConfig config() {
+        if (config == null) {
+            config = Via.getConfig();
+        }
+        return config;
+    }
+
     public long getSentPackets() {
         return sentPackets;
     }
@@ -116,6 +116,10 @@ public interface PacketWrapper {
 
     /**
      * Read a type from the input.
+     * <p>
+     * Values written by a previous protocol in the pipeline are handed over as they are, without being
+     * serialized in between. If the value was written with a different type, it is converted
+     * if the given type is a {@link com.viaversion.viaversion.api.type.TypeConverter}.
      *
      * @param type The type you wish to read
      * @param <T>  The return type of the type you wish to read.
@@ -143,6 +147,38 @@ public interface PacketWrapper {
      */
     <T> T passthrough(Type<T> type) throws Exception;
 
+    /**
+     * Reads a VarInt from the input without boxing it.
+     *
+     * @return read VarInt
+     * @throws InformativeException if it fails to read
+     * @see #read(Type)
+     */
+    default int readVarInt() throws Exception {
+        return read(Type.VAR_INT);
+    }
+
+    /**
+     * Writes a VarInt to the output without boxing it.
+     *
+     * @param value value to write
+     * @see #write(Type, Object)
+     */
+    default void writeVarInt(int value) {
+        write(Type.VAR_INT, value);
+    }
+
+    /**
+     * Takes a VarInt from the input and writes it to the output without boxing it.
+     *
+     * @return passed through VarInt
+     * @throws Exception if it fails to read or write
+     * @see #passthrough(Type)
+     */
+    default int passthroughVarInt() throws Exception {
+        return passthrough(Type.VAR_INT);
+    }
+
     /**
      * Take all the inputs and write them to the output.
      *
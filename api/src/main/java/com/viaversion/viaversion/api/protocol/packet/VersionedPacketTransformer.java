@@ -24,6 +24,7 @@ package com.viaversion.viaversion.api.protocol.packet;
 
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import java.util.Collection;
 import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -80,6 +81,25 @@ public interface VersionedPacketTransformer<C extends ClientboundPacketType, S e
      */
     boolean scheduleSend(UserConnection connection, S packetType, Consumer<PacketWrapper> packetWriter) throws Exception;
 
+    /**
+     * Sends a clientbound packet to all given connections, transformed and sent on their netty event loops.
+     * <p>
+     * If all packet handlers on the way have been marked as cacheable, the packet is written and transformed only once
+     * for all connections of the same client version and protocol state, sharing the transformed buffer between them.
+     * Otherwise, it is written and transformed separately for each connection.
+     * <p>
+     * Errors while writing, transforming, or sending the packet for a connection are logged and do not stop the broadcast
+     * to the remaining connections.
+     *
+     * @param connections  connections to send the packet to
+     * @param packetType   clientbound packet type
+     * @param packetWriter writer of the packet contents, called on the calling thread at least once per client version
+     * @return number of connections the packet has been submitted to, excluding ones it could not be written for
+     * @throws IllegalArgumentException if the packet type is not of the expected clientbound packets class
+     * @see com.viaversion.viaversion.api.protocol.Protocol#setClientboundCacheable(ClientboundPacketType, boolean)
+     */
+    int broadcast(Collection<UserConnection> connections, C packetType, Consumer<PacketWrapper> packetWriter) throws Exception;
+
     /**
      * Transforms a packet to the protocol version of the given connection or server, or null if cancelled at some point.
      * The target version is given by {@link ProtocolInfo#getProtocolVersion()} or {@link ProtocolInfo#getServerProtocolVersion()}.
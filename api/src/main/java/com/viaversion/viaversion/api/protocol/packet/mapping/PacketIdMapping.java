@@ -41,6 +41,11 @@ final class PacketIdMapping implements PacketMapping {
         wrapper.setId(mappedPacketId);
     }
 
+    @Override
+    public int mappedPacketId(final int unmappedId) {
+        return mappedPacketId;
+    }
+
     @Override
     public @Nullable PacketHandler handler() {
         return handler;
@@ -24,6 +24,7 @@ package com.viaversion.viaversion.api.protocol.packet.mapping;
 
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -39,6 +40,24 @@ public interface PacketMapping {
      */
     void applyType(PacketWrapper wrapper);
 
+    /**
+     * Returns the packet id a packet with the given unmapped id has after applying this mapping.
+     *
+     * @param unmappedId unmapped packet id
+     * @return mapped packet id, or -1 if no id is written
+     */
+    int mappedPacketId(int unmappedId);
+
+    /**
+     * Returns the protocol state a packet in the given state is in after applying this mapping.
+     *
+     * @param state unmapped protocol state
+     * @return mapped protocol state
+     */
+    default State mappedState(State state) {
+        return state;
+    }
+
     /**
      * Returns a packet transformer to transform a packet from one protocol version to another.
      *
@@ -24,6 +24,7 @@ package com.viaversion.viaversion.api.protocol.packet.mapping;
 
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -43,6 +44,16 @@ final class PacketTypeMapping implements PacketMapping {
         }
     }
 
+    @Override
+    public int mappedPacketId(final int unmappedId) {
+        return mappedPacketType != null ? mappedPacketType.getId() : unmappedId;
+    }
+
+    @Override
+    public State mappedState(final State state) {
+        return mappedPacketType != null ? mappedPacketType.state() : state;
+    }
+
     @Override
     public @Nullable PacketHandler handler() {
         return handler;
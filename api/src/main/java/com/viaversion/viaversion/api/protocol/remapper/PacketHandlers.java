@@ -51,6 +51,10 @@ public abstract class PacketHandlers implements PacketHandler {
      * @param type type to map
      */
     public <T> void map(Type<T> type) {
+        if (type == Type.VAR_INT) {
+            handler(PacketWrapper::passthroughVarInt);
+            return;
+        }
         handler(wrapper -> wrapper.write(type, wrapper.read(type)));
     }
 
@@ -0,0 +1,52 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.scheduler;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import java.util.function.Consumer;
+
+/**
+ * Runs tasks for single connections once their deadline has passed, on the platform's main thread where available.
+ * Only the due tasks are visited each tick, so protocols can keep per-connection timers without scanning all connections.
+ */
+public interface ConnectionScheduler {
+
+    /**
+     * Schedules the given task to be run for the connection once the deadline has passed.
+     * Tasks are dropped without being run if the connection's channel has been closed in the meantime.
+     * <p>
+     * This method is thread-safe, repeating tasks should schedule themselves again when run.
+     *
+     * @param connection     user connection
+     * @param deadlineMillis time in milliseconds as given by {@link System#currentTimeMillis()}
+     * @param task           task to run with the connection
+     */
+    void schedule(UserConnection connection, long deadlineMillis, Consumer<UserConnection> task);
+
+    /**
+     * Returns the number of currently scheduled tasks.
+     *
+     * @return number of scheduled tasks
+     */
+    int scheduledTasks();
+}
@@ -36,17 +36,13 @@ public class VarIntArrayType extends Type<int[]> {
         int length = Type.VAR_INT.readPrimitive(buffer);
         Preconditions.checkArgument(buffer.isReadable(length)); // Sanity check, at least 1 byte will be used for each varint
         int[] array = new int[length];
-        for (int i = 0; i < array.length; i++) {
-            array[i] = Type.VAR_INT.readPrimitive(buffer);
-        }
+        Type.VAR_INT.readPrimitives(buffer, array);
         return array;
     }
 
     @Override
     public void write(ByteBuf buffer, int[] object) throws Exception {
         Type.VAR_INT.writePrimitive(buffer, object.length);
-        for (int i : object) {
-            Type.VAR_INT.writePrimitive(buffer, i);
-        }
+        Type.VAR_INT.writePrimitives(buffer, object);
     }
 }
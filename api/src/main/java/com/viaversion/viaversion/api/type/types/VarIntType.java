@@ -37,7 +37,96 @@ public class VarIntType extends Type<Integer> implements TypeConverter<Integer>
         super("VarInt", Integer.class);
     }
 
+    /**
+     * Returns the number of bytes the given value takes up when written as a VarInt.
+     *
+     * @param value value
+     * @return number of bytes between 1 and 5
+     */
+    public static int varIntLength(final int value) {
+        if ((value & (-1 << 7)) == 0) {
+            return 1;
+        } else if ((value & (-1 << 14)) == 0) {
+            return 2;
+        } else if ((value & (-1 << 21)) == 0) {
+            return 3;
+        } else if ((value & (-1 << 28)) == 0) {
+            return 4;
+        }
+        return 5;
+    }
+
     public int readPrimitive(ByteBuf buffer) {
+        final int readerIndex = buffer.readerIndex();
+        if (buffer.writerIndex() - readerIndex < MAX_BYTES) {
+            return readPrimitiveSlow(buffer);
+        }
+
+        final long result = readFast(buffer, readerIndex);
+        buffer.readerIndex(readerIndex + (int) (result >>> 32));
+        return (int) result;
+    }
+
+    /**
+     * Reads as many VarInts as the given array holds into it.
+     *
+     * @param buffer buffer to read from
+     * @param values array to fill
+     */
+    public void readPrimitives(final ByteBuf buffer, final int[] values) {
+        int index = buffer.readerIndex();
+        final int fastLimit = buffer.writerIndex() - MAX_BYTES;
+        for (int i = 0; i < values.length; i++) {
+            if (index > fastLimit) {
+                // Close to the end of the buffer, read the rest one by one with bounds checks
+                buffer.readerIndex(index);
+                for (; i < values.length; i++) {
+                    values[i] = readPrimitiveSlow(buffer);
+                }
+                return;
+            }
+
+            final long result = readFast(buffer, index);
+            values[i] = (int) result;
+            index += (int) (result >>> 32);
+        }
+        buffer.readerIndex(index);
+    }
+
+    /**
+     * Reads a VarInt at the given index, requiring at least {@link #MAX_BYTES} bytes to be readable from there.
+     *
+     * @return the number of bytes read in the upper and the value in the lower 32 bits
+     */
+    private static long readFast(final ByteBuf buffer, final int index) {
+        final byte first = buffer.getByte(index);
+        if (first >= 0) {
+            return 1L << 32 | first;
+        }
+
+        // Peek the next four bytes at once
+        final int next = buffer.getInt(index + 1);
+        int value = first & VALUE_BITS;
+        value |= (next >>> 24 & VALUE_BITS) << 7;
+        if ((next & 0x80000000) == 0) {
+            return 2L << 32 | (value & 0xFFFFFFFFL);
+        }
+        value |= (next >>> 16 & VALUE_BITS) << 14;
+        if ((next & 0x800000) == 0) {
+            return 3L << 32 | (value & 0xFFFFFFFFL);
+        }
+        value |= (next >>> 8 & VALUE_BITS) << 21;
+        if ((next & 0x8000) == 0) {
+            return 4L << 32 | (value & 0xFFFFFFFFL);
+        }
+        if ((next & CONTINUE_BIT) != 0) {
+            throw new RuntimeException("VarInt too big");
+        }
+        value |= (next & VALUE_BITS) << 28;
+        return 5L << 32 | (value & 0xFFFFFFFFL);
+    }
+
+    private static int readPrimitiveSlow(final ByteBuf buffer) {
         int value = 0;
         int bytes = 0;
         byte in;
@@ -53,12 +142,70 @@ public class VarIntType extends Type<Integer> implements TypeConverter<Integer>
     }
 
     public void writePrimitive(ByteBuf buffer, int value) {
-        while ((value & MULTI_BYTE_BITS) != 0) {
-            buffer.writeByte((value & VALUE_BITS) | CONTINUE_BIT);
-            value >>>= 7;
+        if ((value & MULTI_BYTE_BITS) == 0) {
+            buffer.writeByte(value);
+            return;
         }
 
-        buffer.writeByte(value);
+        final int length = varIntLength(value);
+        buffer.ensureWritable(length);
+        final int writerIndex = buffer.writerIndex();
+        setPrimitive(buffer, writerIndex, value, length);
+        buffer.writerIndex(writerIndex + length);
+    }
+
+    /**
+     * Writes all values of the given array as VarInts, without a length prefix.
+     *
+     * @param buffer buffer to write to
+     * @param values values to write
+     */
+    public void writePrimitives(final ByteBuf buffer, final int[] values) {
+        int length = 0;
+        for (final int value : values) {
+            length += varIntLength(value);
+        }
+
+        buffer.ensureWritable(length);
+        int index = buffer.writerIndex();
+        for (final int value : values) {
+            final int valueLength = varIntLength(value);
+            setPrimitive(buffer, index, value, valueLength);
+            index += valueLength;
+        }
+        buffer.writerIndex(index);
+    }
+
+    /**
+     * Sets the VarInt at the given index with as few buffer calls as possible for the precomputed length.
+     */
+    private static void setPrimitive(final ByteBuf buffer, final int index, final int value, final int length) {
+        switch (length) {
+            case 1:
+                buffer.setByte(index, value);
+                break;
+            case 2:
+                buffer.setShort(index, (value & VALUE_BITS | CONTINUE_BIT) << 8 | value >>> 7);
+                break;
+            case 3:
+                buffer.setMedium(index, (value & VALUE_BITS | CONTINUE_BIT) << 16
+                        | (value >>> 7 & VALUE_BITS | CONTINUE_BIT) << 8
+                        | value >>> 14);
+                break;
+            case 4:
+                buffer.setInt(index, (value & VALUE_BITS | CONTINUE_BIT) << 24
+                        | (value >>> 7 & VALUE_BITS | CONTINUE_BIT) << 16
+                        | (value >>> 14 & VALUE_BITS | CONTINUE_BIT) << 8
+                        | value >>> 21);
+                break;
+            default:
+                buffer.setInt(index, (value & VALUE_BITS | CONTINUE_BIT) << 24
+                        | (value >>> 7 & VALUE_BITS | CONTINUE_BIT) << 16
+                        | (value >>> 14 & VALUE_BITS | CONTINUE_BIT) << 8
+                        | (value >>> 21 & VALUE_BITS | CONTINUE_BIT));
+                buffer.setByte(index + 4, value >>> 28);
+                break;
+        }
     }
 
     /**
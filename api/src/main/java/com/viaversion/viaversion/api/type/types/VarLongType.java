@@ -28,20 +28,53 @@ import io.netty.buffer.ByteBuf;
 
 public class VarLongType extends Type<Long> implements TypeConverter<Long> {
 
+    private static final int VALUE_BITS = 0x7F;
+    private static final long INT_ENCODABLE_BITS = (1L << 28) - 1;
+    private static final int MAX_BYTES = 10;
+
     public VarLongType() {
         super("VarLong", Long.class);
     }
 
     public long readPrimitive(ByteBuf buffer) {
+        final int readerIndex = buffer.readerIndex();
+        if (buffer.writerIndex() - readerIndex < MAX_BYTES) {
+            return readPrimitiveSlow(buffer);
+        }
+
+        // Enough bytes are readable, so skip the per-byte readable checks and index updates
+        final byte first = buffer.getByte(readerIndex);
+        if (first >= 0) {
+            buffer.readerIndex(readerIndex + 1);
+            return first;
+        }
+
+        long out = first & VALUE_BITS;
+        int index = readerIndex + 1;
+        for (int shift = 7; ; shift += 7) {
+            final byte in = buffer.getByte(index++);
+            out |= (long) (in & VALUE_BITS) << shift;
+            if (in >= 0) {
+                break;
+            }
+            if (index - readerIndex == MAX_BYTES) {
+                throw new RuntimeException("VarLong too big");
+            }
+        }
+        buffer.readerIndex(index);
+        return out;
+    }
+
+    private static long readPrimitiveSlow(ByteBuf buffer) {
         long out = 0;
         int bytes = 0;
         byte in;
         do {
             in = buffer.readByte();
 
-            out |= (long) (in & 0x7F) << (bytes++ * 7);
+            out |= (long) (in & VALUE_BITS) << (bytes++ * 7);
 
-            if (bytes > 10) { // 10 is maxBytes
+            if (bytes > MAX_BYTES) {
                 throw new RuntimeException("VarLong too big");
             }
         } while ((in & 0x80) == 0x80);
@@ -49,9 +82,15 @@ public class VarLongType extends Type<Long> implements TypeConverter<Long> {
     }
 
     public void writePrimitive(ByteBuf buffer, long object) {
+        if ((object & ~INT_ENCODABLE_BITS) == 0) {
+            // Up to four bytes, encoded the same way as a VarInt
+            Type.VAR_INT.writePrimitive(buffer, (int) object);
+            return;
+        }
+
         int part;
         do {
-            part = (int) (object & 0x7F);
+            part = (int) (object & VALUE_BITS);
 
             object >>>= 7;
             if (object != 0) {
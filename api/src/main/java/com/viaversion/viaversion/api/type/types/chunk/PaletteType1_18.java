@@ -22,8 +22,10 @@
  */
 package com.viaversion.viaversion.api.type.types.chunk;
 
+import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PackedDataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.util.CompactArrayUtil;
@@ -61,9 +63,12 @@ public final class PaletteType1_18 extends Type<DataPalette> {
         // Read palette
         if (bitsPerValue != globalPaletteBits) {
             final int paletteLength = Type.VAR_INT.readPrimitive(buffer);
+            Preconditions.checkArgument(buffer.isReadable(paletteLength)); // At least 1 byte per entry
+            final int[] ids = new int[paletteLength];
+            Type.VAR_INT.readPrimitives(buffer, ids);
             palette = new DataPaletteImpl(type.size(), paletteLength);
-            for (int i = 0; i < paletteLength; i++) {
-                palette.addId(Type.VAR_INT.readPrimitive(buffer));
+            for (final int id : ids) {
+                palette.addId(id);
             }
         } else {
             palette = new DataPaletteImpl(type.size());
@@ -75,6 +80,11 @@ public final class PaletteType1_18 extends Type<DataPalette> {
             final int valuesPerLong = (char) (64 / bitsPerValue);
             final int expectedLength = (type.size() + valuesPerLong - 1) / valuesPerLong;
             if (values.length == expectedLength) { // Thanks, Hypixel
+                if (bitsPerValue != globalPaletteBits) {
+                    // Only unpack the values when needed, usually just the palette entries are changed
+                    return new PackedDataPalette(palette, values, bitsPerValue, type.size());
+                }
+
                 CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, type.size(), values,
                         bitsPerValue == globalPaletteBits ? palette::setIdAt : palette::setPaletteIndexAt);
             }
@@ -93,6 +103,18 @@ public final class PaletteType1_18 extends Type<DataPalette> {
             return;
         }
 
+        if (palette instanceof PackedDataPalette) {
+            final PackedDataPalette packedPalette = (PackedDataPalette) palette;
+            final long[] packedValues = packedPalette.packedValues();
+            if (packedValues != null && packedPalette.bitsPerValue() != globalPaletteBits) {
+                // Palette indexes are unchanged, so they can be written as they were read
+                buffer.writeByte(packedPalette.bitsPerValue());
+                writePaletteEntries(buffer, palette, size);
+                Type.LONG_ARRAY_PRIMITIVE.write(buffer, packedValues);
+                return;
+            }
+        }
+
         // 1, 2, and 3 bit linear block palettes can't be read by the client
         final int min = type == PaletteType.BLOCKS ? 4 : 1;
         int bitsPerValue = Math.max(min, MathUtil.ceilLog2(size));
@@ -104,12 +126,18 @@ public final class PaletteType1_18 extends Type<DataPalette> {
 
         if (bitsPerValue != globalPaletteBits) {
             // Write palette
-            Type.VAR_INT.writePrimitive(buffer, size);
-            for (int i = 0; i < size; i++) {
-                Type.VAR_INT.writePrimitive(buffer, palette.idByIndex(i));
-            }
+            writePaletteEntries(buffer, palette, size);
         }
 
         Type.LONG_ARRAY_PRIMITIVE.write(buffer, CompactArrayUtil.createCompactArrayWithPadding(bitsPerValue, type.size(), bitsPerValue == globalPaletteBits ? palette::idAt : palette::paletteIndexAt));
     }
+
+    private void writePaletteEntries(final ByteBuf buffer, final DataPalette palette, final int size) {
+        final int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = palette.idByIndex(i);
+        }
+        Type.VAR_INT.writePrimitive(buffer, size);
+        Type.VAR_INT.writePrimitives(buffer, ids);
+    }
 }
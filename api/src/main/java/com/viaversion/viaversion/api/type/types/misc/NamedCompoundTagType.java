@@ -25,10 +25,10 @@ package com.viaversion.viaversion.api.type.types.misc;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
 import com.github.steveice10.opennbt.tag.limiter.TagLimiter;
+import com.viaversion.viaversion.api.minecraft.nbt.ByteBufDataInput;
+import com.viaversion.viaversion.api.minecraft.nbt.ByteBufDataOutput;
 import com.viaversion.viaversion.api.type.Type;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 import java.io.IOException;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -65,7 +65,7 @@ public class NamedCompoundTagType extends Type<CompoundTag> {
         }
 
         final TagLimiter tagLimiter = TagLimiter.create(MAX_NBT_BYTES, MAX_NESTING_LEVEL);
-        return CompoundTag.read(new ByteBufInputStream(buffer), tagLimiter, 0);
+        return CompoundTag.read(new ByteBufDataInput(buffer), tagLimiter, 0);
     }
 
     public static void write(final ByteBuf buffer, final Tag tag, final @Nullable String name) throws IOException {
@@ -74,11 +74,10 @@ public class NamedCompoundTagType extends Type<CompoundTag> {
             return;
         }
 
-        final ByteBufOutputStream out = new ByteBufOutputStream(buffer);
-        out.writeByte(tag.getTagId());
+        buffer.writeByte(tag.getTagId());
         if (name != null) {
-            out.writeUTF(name);
+            ByteBufDataOutput.writeUTF(buffer, name);
         }
-        tag.write(out);
+        tag.write(new ByteBufDataOutput(buffer));
     }
 }
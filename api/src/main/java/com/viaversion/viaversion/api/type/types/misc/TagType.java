@@ -25,10 +25,10 @@ package com.viaversion.viaversion.api.type.types.misc;
 import com.github.steveice10.opennbt.tag.TagRegistry;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
 import com.github.steveice10.opennbt.tag.limiter.TagLimiter;
+import com.viaversion.viaversion.api.minecraft.nbt.ByteBufDataInput;
 import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import java.io.IOException;
 
 public class TagType extends Type<Tag> {
@@ -45,7 +45,7 @@ public class TagType extends Type<Tag> {
         }
 
         final TagLimiter tagLimiter = TagLimiter.create(NamedCompoundTagType.MAX_NBT_BYTES, NamedCompoundTagType.MAX_NESTING_LEVEL);
-        return TagRegistry.read(id, new ByteBufInputStream(buffer), tagLimiter, 0);
+        return TagRegistry.read(id, new ByteBufDataInput(buffer), tagLimiter, 0);
     }
 
     @Override
@@ -0,0 +1,107 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Map keyed by block coordinates, bucketed by chunk so that all entries of a chunk can be dropped at once.
+ * <p>
+ * Not thread-safe; instances are meant to be confined to a single connection's event loop.
+ * Null values are not permitted.
+ *
+ * @param <V> value type
+ */
+public final class BlockPositionMap<V> {
+
+    private final ChunkPositionMap<Int2ObjectMap<V>> chunks;
+
+    public BlockPositionMap() {
+        this.chunks = new ChunkPositionMap<>();
+    }
+
+    public BlockPositionMap(final int expectedChunks) {
+        this.chunks = new ChunkPositionMap<>(expectedChunks);
+    }
+
+    public @Nullable V get(final int x, final int y, final int z) {
+        final Int2ObjectMap<V> chunk = chunks.get(x >> 4, z >> 4);
+        return chunk != null ? chunk.get(localKey(x, y, z)) : null;
+    }
+
+    public boolean containsKey(final int x, final int y, final int z) {
+        return get(x, y, z) != null;
+    }
+
+    public @Nullable V put(final int x, final int y, final int z, final V value) {
+        final Int2ObjectMap<V> chunk = chunks.computeIfAbsent(ChunkPositionMap.key(x >> 4, z >> 4), key -> new Int2ObjectOpenHashMap<>());
+        return chunk.put(localKey(x, y, z), value);
+    }
+
+    public @Nullable V remove(final int x, final int y, final int z) {
+        final Int2ObjectMap<V> chunk = chunks.get(x >> 4, z >> 4);
+        if (chunk == null) {
+            return null;
+        }
+
+        final V removed = chunk.remove(localKey(x, y, z));
+        if (chunk.isEmpty()) {
+            chunks.remove(x >> 4, z >> 4);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries within the given chunk.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     * @return true if any entries were removed
+     */
+    public boolean removeChunk(final int chunkX, final int chunkZ) {
+        return chunks.remove(chunkX, chunkZ) != null;
+    }
+
+    /**
+     * Returns the number of chunks with at least one entry.
+     *
+     * @return number of stored chunks
+     */
+    public int chunkCount() {
+        return chunks.size();
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    public void clear() {
+        chunks.clear();
+    }
+
+    private static int localKey(final int x, final int y, final int z) {
+        return (y << 8) | ((z & 0xF) << 4) | (x & 0xF);
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.util;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Open addressing map keyed by packed chunk coordinates, avoiding boxed {@link Long} keys.
+ * <p>
+ * Not thread-safe; instances are meant to be confined to a single connection's event loop.
+ * Null values are not permitted.
+ *
+ * @param <V> value type
+ */
+public final class ChunkPositionMap<V> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+    private long[] keys;
+    private Object[] values; // A null value marks a free slot
+    private int mask;
+    private int maxFill;
+    private int size;
+
+    public ChunkPositionMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public ChunkPositionMap(final int expectedSize) {
+        Preconditions.checkArgument(expectedSize >= 0, "Expected size must not be negative");
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Returns the packed key of the given chunk coordinates.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     * @return packed key
+     */
+    public static long key(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(final long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int chunkZ(final long key) {
+        return (int) key;
+    }
+
+    public @Nullable V get(final int chunkX, final int chunkZ) {
+        return get(key(chunkX, chunkZ));
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(final long key) {
+        int slot = slot(key);
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(final int chunkX, final int chunkZ) {
+        return get(key(chunkX, chunkZ)) != null;
+    }
+
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    public @Nullable V put(final int chunkX, final int chunkZ, final V value) {
+        return put(key(chunkX, chunkZ), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(final long key, final V value) {
+        Preconditions.checkNotNull(value, "Null values are not permitted");
+        int slot = slot(key);
+        Object previous;
+        while ((previous = values[slot]) != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return (V) previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        insert(slot, key, value);
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the key, computing and storing it first if absent.
+     *
+     * @param key             packed chunk key
+     * @param mappingFunction function to compute a non-null value from the key
+     * @return the present or computed value
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(final long key, final LongFunction<V> mappingFunction) {
+        int slot = slot(key);
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        final V computed = mappingFunction.apply(key);
+        Preconditions.checkNotNull(computed, "Null values are not permitted");
+        insert(slot, key, computed);
+        return computed;
+    }
+
+    public @Nullable V remove(final int chunkX, final int chunkZ) {
+        return remove(key(chunkX, chunkZ));
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(final long key) {
+        int slot = slot(key);
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                size--;
+                shiftKeys(slot);
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Calls the consumer with the packed key of every entry.
+     *
+     * @param consumer consumer of the packed keys
+     */
+    public void forEachKey(final LongConsumer consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void insert(final int slot, final long key, final Object value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > maxFill) {
+            rehash(values.length << 1);
+        }
+    }
+
+    /**
+     * Closes the gap left by a removed entry by moving back entries of the same probe sequence.
+     */
+    private void shiftKeys(int pos) {
+        int last;
+        int slot;
+        while (true) {
+            pos = ((last = pos) + 1) & mask;
+            while (true) {
+                if (values[pos] == null) {
+                    values[last] = null;
+                    return;
+                }
+
+                slot = slot(keys[pos]);
+                // Move the entry if its home slot does not lie cyclically within (last, pos]
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+
+            keys[last] = keys[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            final Object value = oldValues[i];
+            if (value == null) {
+                continue;
+            }
+
+            int slot = slot(oldKeys[i]);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = value;
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maxFill = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSize(final int expectedSize) {
+        final int minimum = Math.max(4, (int) Math.ceil(expectedSize / LOAD_FACTOR));
+        return Integer.highestOneBit(minimum - 1) << 1;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.util;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Set of chunk coordinates backed by a {@link ChunkPositionMap}, avoiding boxed {@link Long} elements.
+ * <p>
+ * Not thread-safe; instances are meant to be confined to a single connection's event loop.
+ */
+public final class ChunkPositionSet {
+
+    private final ChunkPositionMap<Boolean> map;
+
+    public ChunkPositionSet() {
+        this.map = new ChunkPositionMap<>();
+    }
+
+    public ChunkPositionSet(final int expectedSize) {
+        this.map = new ChunkPositionMap<>(expectedSize);
+    }
+
+    /**
+     * Adds the chunk to the set.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     * @return true if the chunk was not already contained
+     */
+    public boolean add(final int chunkX, final int chunkZ) {
+        return map.put(chunkX, chunkZ, Boolean.TRUE) == null;
+    }
+
+    public boolean contains(final int chunkX, final int chunkZ) {
+        return map.containsKey(chunkX, chunkZ);
+    }
+
+    /**
+     * Removes the chunk from the set.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     * @return true if the chunk was contained
+     */
+    public boolean remove(final int chunkX, final int chunkZ) {
+        return map.remove(chunkX, chunkZ) != null;
+    }
+
+    /**
+     * Calls the consumer with the packed key of every chunk, see {@link ChunkPositionMap#chunkX(long)} and {@link ChunkPositionMap#chunkZ(long)}.
+     *
+     * @param consumer consumer of the packed keys
+     */
+    public void forEach(final LongConsumer consumer) {
+        map.forEachKey(consumer);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.util;
+
+/**
+ * Millisecond clock updated at a fixed resolution by a single scheduler task, to be read on hot paths
+ * instead of calling {@link System#currentTimeMillis()} for every packet.
+ */
+public final class CoarseClock {
+
+    /**
+     * Interval in milliseconds in which the clock is expected to be ticked.
+     */
+    public static final long RESOLUTION_MILLIS = 10;
+    private static volatile long millis;
+    private static volatile boolean ticking;
+    private static boolean started;
+
+    private CoarseClock() {
+    }
+
+    /**
+     * Returns the last ticked time in milliseconds, or the current time if the clock has not been started.
+     *
+     * @return coarse current time in milliseconds
+     */
+    public static long millis() {
+        return ticking ? millis : System.currentTimeMillis();
+    }
+
+    /**
+     * Starts the clock, after which {@link #tick()} should be called every {@link #RESOLUTION_MILLIS} milliseconds.
+     */
+    public static synchronized void start() {
+        started = true;
+    }
+
+    /**
+     * Updates the clock to the current time if it has been started.
+     */
+    public static synchronized void tick() {
+        if (started) {
+            millis = System.currentTimeMillis();
+            ticking = true;
+        }
+    }
+
+    /**
+     * Stops the clock, making {@link #millis()} fall back to the current time. Ticks still running afterwards are ignored.
+     */
+    public static synchronized void stop() {
+        started = false;
+        ticking = false;
+    }
+}
@@ -135,6 +135,22 @@ public final class PipelineUtil {
         return null;
     }
 
+    /**
+     * Returns a buffer with the packet to transform, the given buffer itself if nothing else can hold a reference to it.
+     * Buffers that may be shared, such as retained duplicates of broadcast packets or slices of a cumulation buffer,
+     * are copied instead. In both cases, the returned buffer has to be released by the caller.
+     *
+     * @param ctx channel handler context to allocate a copy with
+     * @param buf packet buffer handed to the codec handler
+     * @return the given buffer retained, or a copy of its readable bytes
+     */
+    public static ByteBuf transformableBuffer(ChannelHandlerContext ctx, ByteBuf buf) {
+        if (buf.refCnt() == 1 && buf.unwrap() == null) {
+            return buf.retain();
+        }
+        return ctx.alloc().buffer(buf.readableBytes()).writeBytes(buf);
+    }
+
     /**
      * Get the context for a the channel handler before a certain name.
      *
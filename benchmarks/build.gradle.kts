@@ -0,0 +1,24 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+// The benchmarks run on the same headless test platform as the unit tests
+evaluationDependsOn(":viaversion-common")
+
+dependencies {
+    jmh(projects.viaversionCommon)
+    jmh(project(":viaversion-common").the<SourceSetContainer>()["test"].output)
+    jmh(rootProject.libs.netty)
+    jmh(rootProject.libs.guava)
+    jmh(rootProject.libs.snakeYaml2)
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+}
+
+// Only used locally, never published
+tasks.withType<AbstractPublishToMaven>().configureEach {
+    enabled = false
+}
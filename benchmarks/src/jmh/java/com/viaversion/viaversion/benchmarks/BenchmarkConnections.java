@@ -0,0 +1,102 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Sets up headless connections on the test platform, mirroring what the base protocol does on handshake.
+ */
+public final class BenchmarkConnections {
+
+    private BenchmarkConnections() {
+    }
+
+    /**
+     * Returns a connection in the play state with the full protocol path between the given versions.
+     *
+     * @param clientVersion client protocol version
+     * @param serverVersion server protocol version
+     * @return connection with an initialized pipeline
+     * @throws IllegalArgumentException if there is no protocol path between the versions
+     */
+    public static UserConnection create(final int clientVersion, final int serverVersion) throws Exception {
+        DummyInitializer.init();
+
+        final ProtocolManager protocolManager = Via.getManager().getProtocolManager();
+        final List<ProtocolPathEntry> path = protocolManager.getProtocolPath(clientVersion, serverVersion);
+        if (path == null) {
+            throw new IllegalArgumentException("No protocol path between client version " + clientVersion + " and server version " + serverVersion);
+        }
+
+        final UserConnection connection = new UserConnectionImpl(null);
+        final ProtocolPipeline pipeline = new ProtocolPipelineImpl(connection);
+        final ProtocolInfo info = connection.getProtocolInfo();
+        info.setProtocolVersion(clientVersion);
+        info.setServerProtocolVersion(serverVersion);
+
+        final List<Protocol> protocols = new ArrayList<>(path.size());
+        for (final ProtocolPathEntry entry : path) {
+            protocols.add(entry.protocol());
+            protocolManager.completeMappingDataLoading(entry.protocol().getClass());
+        }
+        pipeline.add(protocols);
+        pipeline.add(protocolManager.getBaseProtocol(serverVersion));
+        info.setState(State.PLAY);
+        return connection;
+    }
+
+    /**
+     * Returns the newest server version reachable from the client version with exactly the given amount of protocols.
+     *
+     * @param clientVersion client protocol version
+     * @param hops          number of protocols in the path
+     * @return server version with a path of the given length, or null if there is none
+     */
+    public static @Nullable ProtocolVersion serverVersionWithHops(final int clientVersion, final int hops) {
+        DummyInitializer.init();
+
+        final List<ProtocolVersion> versions = new ArrayList<>(ProtocolVersion.getProtocols());
+        versions.sort((a, b) -> Integer.compare(b.getVersion(), a.getVersion()));
+        for (final ProtocolVersion version : versions) {
+            if (!version.isKnown() || version.getVersion() >= clientVersion) {
+                continue;
+            }
+
+            final List<ProtocolPathEntry> path = Via.getManager().getProtocolManager().getProtocolPath(clientVersion, version.getVersion());
+            if (path != null && path.size() == hops) {
+                return version;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.LongArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntity;
+import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntityImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
+import com.viaversion.viaversion.api.minecraft.chunks.Chunk1_18;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.types.chunk.ChunkType1_20_2;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import com.viaversion.viaversion.protocols.protocol1_20_2to1_20.packet.ClientboundPackets1_20_2;
+import com.viaversion.viaversion.protocols.protocol1_20_3to1_20_2.Protocol1_20_3To1_20_2;
+import com.viaversion.viaversion.rewriter.BlockRewriter;
+import com.viaversion.viaversion.util.MathUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rewriting an overworld chunk from 1.20.2 to 1.20.3 with the shared 1.19+ chunk handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkDataBenchmark {
+
+    private static final int SECTIONS = 24;
+    private static final int BIOMES = 64;
+    private UserConnection connection;
+    private PacketHandler handler;
+    private ByteBuf input;
+    private ByteBuf buf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        connection = BenchmarkConnections.create(ProtocolVersion.v1_20_3.getVersion(), ProtocolVersion.v1_20_2.getVersion());
+
+        final Protocol1_20_3To1_20_2 protocol = Via.getManager().getProtocolManager().getProtocol(Protocol1_20_3To1_20_2.class);
+        final EntityTracker tracker = protocol.getEntityRewriter().tracker(connection);
+        tracker.setBiomesSent(BIOMES);
+        tracker.setCurrentWorldSectionHeight(SECTIONS);
+        tracker.setCurrentMinY(-64);
+        handler = BlockRewriter.for1_20_2(protocol).chunkDataHandler1_19(ChunkType1_20_2::new, null);
+
+        final int globalBlockBits = MathUtil.ceilLog2(protocol.getMappingData().getBlockStateMappings().size());
+        final ChunkType1_20_2 chunkType = new ChunkType1_20_2(SECTIONS, globalBlockBits, MathUtil.ceilLog2(BIOMES));
+        input = Unpooled.buffer();
+        chunkType.write(input, createChunk(new Random(0x5EED)));
+        buf = Unpooled.buffer(input.readableBytes() * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.release();
+        buf.release();
+    }
+
+    @Benchmark
+    public ByteBuf chunkData() throws Exception {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(ClientboundPackets1_20_2.CHUNK_DATA.getId(), input.duplicate(), connection);
+        handler.handle(wrapper);
+        buf.clear();
+        wrapper.writeToBuffer(buf);
+        return buf;
+    }
+
+    private static Chunk createChunk(final Random random) {
+        // Dense terrain in the lower third, a few sparse sections above and air up to the build limit
+        final ChunkSection[] sections = new ChunkSection[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            final int paletteSize = i < 8 ? 24 : i < 12 ? 6 : 1;
+            final ChunkSectionImpl section = new ChunkSectionImpl(false, paletteSize);
+            final DataPaletteImpl blocks = (DataPaletteImpl) section.palette(PaletteType.BLOCKS);
+            blocks.addId(0); // Air
+            for (int j = 1; j < paletteSize; j++) {
+                blocks.addId(1 + random.nextInt(20000));
+            }
+            if (paletteSize != 1) {
+                for (int j = 0; j < ChunkSection.SIZE; j++) {
+                    blocks.setPaletteIndexAt(j, random.nextInt(paletteSize));
+                }
+            }
+            section.setNonAirBlocksCount(paletteSize == 1 ? 0 : ChunkSection.SIZE - ChunkSection.SIZE / paletteSize);
+
+            final DataPaletteImpl biomes = new DataPaletteImpl(ChunkSection.BIOME_SIZE, 1);
+            biomes.addId(random.nextInt(BIOMES));
+            section.addPalette(PaletteType.BIOMES, biomes);
+            sections[i] = section;
+        }
+
+        final CompoundTag heightMap = new CompoundTag();
+        final long[] motionBlocking = new long[37];
+        for (int i = 0; i < motionBlocking.length; i++) {
+            motionBlocking[i] = random.nextLong();
+        }
+        heightMap.put("MOTION_BLOCKING", new LongArrayTag(motionBlocking));
+
+        final List<BlockEntity> blockEntities = new ArrayList<>();
+        final CompoundTag sign = new CompoundTag();
+        final CompoundTag frontText = new CompoundTag();
+        frontText.put("color", new StringTag("black"));
+        sign.put("front_text", frontText);
+        blockEntities.add(new BlockEntityImpl(BlockEntity.pack(3, 7), (short) 65, 7, sign));
+
+        final CompoundTag spawner = new CompoundTag();
+        spawner.put("Delay", new IntTag(20));
+        spawner.put("MaxNearbyEntities", new IntTag(6));
+        blockEntities.add(new BlockEntityImpl(BlockEntity.pack(12, 2), (short) -20, 8, spawner));
+        return new Chunk1_18(0, 0, sections, heightMap, blockEntities);
+    }
+}
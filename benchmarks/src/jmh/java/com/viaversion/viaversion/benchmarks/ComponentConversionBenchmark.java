@@ -0,0 +1,75 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.util.ComponentUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Json to tag conversion of a player chat message, as done for every component since 1.20.3.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentConversionBenchmark {
+
+    private static final String CHAT_MESSAGE = "{\"translate\":\"chat.type.text\",\"with\":[{\"text\":\"Steve\",\"insertion\":\"Steve\","
+            + "\"clickEvent\":{\"action\":\"suggest_command\",\"value\":\"/tell Steve \"},"
+            + "\"hoverEvent\":{\"action\":\"show_entity\",\"contents\":{\"type\":\"minecraft:player\",\"id\":\"f84c6a79-0a4e-45e0-879b-cd49ebd4c4e2\",\"name\":{\"text\":\"Steve\"}}}},"
+            + "{\"text\":\"Has anyone seen my \",\"extra\":[{\"text\":\"diamond pickaxe\",\"color\":\"aqua\",\"bold\":true},{\"text\":\"?\"}]}]}";
+    private JsonElement message;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DummyInitializer.init();
+        message = JsonParser.parseString(CHAT_MESSAGE);
+    }
+
+    @Benchmark
+    public Tag jsonToTagRepeated() {
+        // The same message sent to every player on the server
+        return ComponentUtil.jsonToTag(message);
+    }
+
+    @Benchmark
+    public Tag jsonToTagUnique() {
+        final JsonObject object = message.getAsJsonObject().deepCopy();
+        object.addProperty("insertion", Integer.toString(counter++));
+        return ComponentUtil.jsonToTag(object);
+    }
+}
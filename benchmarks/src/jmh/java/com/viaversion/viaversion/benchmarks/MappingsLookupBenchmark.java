@@ -0,0 +1,102 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.viaversion.viaversion.api.data.IntArrayMappings;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.data.RangeShiftMappings;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Block state id lookups of a chunk's worth of random ids through array backed, range shifted,
+ * and range shifted mappings expanded after many changed ids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingsLookupBenchmark {
+
+    private static final int SIZE = 24_000; // Roughly the amount of block states in recent versions
+    private static final int LOOKUPS = 4096;
+    private Mappings arrayMappings;
+    private Mappings rangeShiftMappings;
+    private Mappings expandedRangeShiftMappings;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int[] array = new int[SIZE];
+        for (int id = 0; id < SIZE; id++) {
+            // A few inserted block states, shifting all following ids
+            array[id] = id + id / 4000;
+        }
+
+        arrayMappings = IntArrayMappings.of(array.clone(), SIZE + 6);
+        rangeShiftMappings = RangeShiftMappings.of(array, SIZE + 6, 8);
+
+        final RangeShiftMappings expanded = RangeShiftMappings.of(array, SIZE + 6, 8);
+        for (int id = 0; id < SIZE; id += 500) {
+            expanded.setNewId(id, 0);
+        }
+        expandedRangeShiftMappings = expanded;
+
+        final Random random = new Random(0);
+        ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = random.nextInt(SIZE);
+        }
+    }
+
+    @Benchmark
+    public int arrayLookup() {
+        return lookup(arrayMappings);
+    }
+
+    @Benchmark
+    public int rangeShiftLookup() {
+        return lookup(rangeShiftMappings);
+    }
+
+    @Benchmark
+    public int expandedRangeShiftLookup() {
+        return lookup(expandedRangeShiftMappings);
+    }
+
+    private int lookup(final Mappings mappings) {
+        int sum = 0;
+        for (final int id : ids) {
+            sum += mappings.getNewId(id);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.entities.EntityTypes1_20_3;
+import com.viaversion.viaversion.api.minecraft.metadata.Metadata;
+import com.viaversion.viaversion.api.minecraft.metadata.types.MetaTypes1_20_2;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.types.version.Types1_20_2;
+import com.viaversion.viaversion.protocols.protocol1_20_3to1_20_2.Protocol1_20_3To1_20_2;
+import com.viaversion.viaversion.protocols.protocol1_20_3to1_20_2.rewriter.EntityPacketRewriter1_20_3;
+import com.viaversion.viaversion.util.ComponentUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Metadata rewriting of a named armor stand from 1.20.2 to 1.20.3, running through all registered meta filters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private static final int ENTITY_ID = 1337;
+    private UserConnection connection;
+    private EntityPacketRewriter1_20_3 entityRewriter;
+    private JsonElement customName;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        connection = BenchmarkConnections.create(ProtocolVersion.v1_20_3.getVersion(), ProtocolVersion.v1_20_2.getVersion());
+        entityRewriter = Via.getManager().getProtocolManager().getProtocol(Protocol1_20_3To1_20_2.class).getEntityRewriter();
+        entityRewriter.tracker(connection).addEntity(ENTITY_ID, EntityTypes1_20_3.ARMOR_STAND);
+        customName = ComponentUtil.legacyToJson("§6Shop §7- §fRight click to open");
+    }
+
+    @Benchmark
+    public List<Metadata> handleMetadata() {
+        final MetaTypes1_20_2 types = Types1_20_2.META_TYPES;
+        final List<Metadata> metadata = new ArrayList<>(10);
+        metadata.add(new Metadata(0, types.byteType, (byte) 0x20)); // Invisible
+        metadata.add(new Metadata(1, types.varIntType, 300)); // Air
+        metadata.add(new Metadata(2, types.optionalComponentType, customName));
+        metadata.add(new Metadata(3, types.booleanType, true)); // Custom name visible
+        metadata.add(new Metadata(5, types.booleanType, true)); // No gravity
+        metadata.add(new Metadata(6, types.poseType, 0));
+        metadata.add(new Metadata(9, types.floatType, 20F)); // Health
+        metadata.add(new Metadata(15, types.byteType, (byte) 0x10)); // Marker
+        entityRewriter.handleMetadata(ENTITY_ID, metadata, connection);
+        return metadata;
+    }
+}
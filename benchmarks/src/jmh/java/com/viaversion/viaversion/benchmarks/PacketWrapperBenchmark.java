@@ -0,0 +1,136 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Packet wrapper overhead on a spawn entity packet, as laid out since 1.20.2.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketWrapperBenchmark {
+
+    private static final int PACKET_ID = 0x01;
+    private static final UUID ENTITY_UUID = new UUID(0x5EED_5EED_5EED_5EEDL, 0xDEE5_DEE5_DEE5_DEE5L);
+    private UserConnection connection;
+    private ByteBuf input;
+    private ByteBuf buf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        DummyInitializer.init();
+        connection = new UserConnectionImpl(null);
+
+        input = Unpooled.buffer();
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(PACKET_ID, null, connection);
+        writeSpawnEntity(wrapper);
+        wrapper.writeToBuffer(input);
+        Type.VAR_INT.readPrimitive(input); // Packet id
+        buf = Unpooled.buffer(input.readableBytes() * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.release();
+        buf.release();
+    }
+
+    @Benchmark
+    public void read(final Blackhole blackhole) throws Exception {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(PACKET_ID, input.duplicate(), connection);
+        blackhole.consume(wrapper.read(Type.VAR_INT)); // Entity id
+        blackhole.consume(wrapper.read(Type.UUID));
+        blackhole.consume(wrapper.read(Type.VAR_INT)); // Entity type
+        blackhole.consume(wrapper.read(Type.DOUBLE)); // X
+        blackhole.consume(wrapper.read(Type.DOUBLE)); // Y
+        blackhole.consume(wrapper.read(Type.DOUBLE)); // Z
+        blackhole.consume(wrapper.read(Type.BYTE)); // Pitch
+        blackhole.consume(wrapper.read(Type.BYTE)); // Yaw
+        blackhole.consume(wrapper.read(Type.BYTE)); // Head yaw
+        blackhole.consume(wrapper.read(Type.VAR_INT)); // Data
+        blackhole.consume(wrapper.read(Type.SHORT)); // Velocity X
+        blackhole.consume(wrapper.read(Type.SHORT)); // Velocity Y
+        blackhole.consume(wrapper.read(Type.SHORT)); // Velocity Z
+    }
+
+    @Benchmark
+    public ByteBuf write() throws Exception {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(PACKET_ID, null, connection);
+        writeSpawnEntity(wrapper);
+        buf.clear();
+        wrapper.writeToBuffer(buf);
+        return buf;
+    }
+
+    @Benchmark
+    public ByteBuf passthrough() throws Exception {
+        // Typical rewriter access pattern: change the entity type and let the rest through untouched
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(PACKET_ID, input.duplicate(), connection);
+        wrapper.passthrough(Type.VAR_INT); // Entity id
+        wrapper.passthrough(Type.UUID);
+        wrapper.write(Type.VAR_INT, wrapper.read(Type.VAR_INT) + 1); // Entity type
+        wrapper.passthrough(Type.DOUBLE); // X
+        wrapper.passthrough(Type.DOUBLE); // Y
+        wrapper.passthrough(Type.DOUBLE); // Z
+        buf.clear();
+        wrapper.writeToBuffer(buf);
+        return buf;
+    }
+
+    private static void writeSpawnEntity(final PacketWrapperImpl wrapper) {
+        wrapper.write(Type.VAR_INT, 1337); // Entity id
+        wrapper.write(Type.UUID, ENTITY_UUID);
+        wrapper.write(Type.VAR_INT, 54); // Entity type
+        wrapper.write(Type.DOUBLE, 128.5D); // X
+        wrapper.write(Type.DOUBLE, 64D); // Y
+        wrapper.write(Type.DOUBLE, -256.5D); // Z
+        wrapper.write(Type.BYTE, (byte) 12); // Pitch
+        wrapper.write(Type.BYTE, (byte) -90); // Yaw
+        wrapper.write(Type.BYTE, (byte) -90); // Head yaw
+        wrapper.write(Type.VAR_INT, 0); // Data
+        wrapper.write(Type.SHORT, (short) 0); // Velocity X
+        wrapper.write(Type.SHORT, (short) -628); // Velocity Y
+        wrapper.write(Type.SHORT, (short) 0); // Velocity Z
+    }
+}
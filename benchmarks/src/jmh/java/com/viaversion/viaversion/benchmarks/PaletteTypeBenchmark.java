@@ -0,0 +1,108 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.types.chunk.PaletteType1_18;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Block palette encoding of a single chunk section, from a single value up to the global palette.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaletteTypeBenchmark {
+
+    private static final int GLOBAL_PALETTE_BITS = 15;
+    private final PaletteType1_18 type = new PaletteType1_18(PaletteType.BLOCKS, GLOBAL_PALETTE_BITS);
+    @Param({"1", "16", "200", "1024"})
+    private int paletteSize;
+    private DataPalette palette;
+    private ByteBuf encoded;
+    private ByteBuf buf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final Random random = new Random(0x5EED);
+        final DataPaletteImpl palette = new DataPaletteImpl(PaletteType.BLOCKS.size(), paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            palette.addId(i * 17);
+        }
+        for (int i = 0; i < PaletteType.BLOCKS.size(); i++) {
+            palette.setPaletteIndexAt(i, random.nextInt(paletteSize));
+        }
+        this.palette = palette;
+
+        encoded = Unpooled.buffer();
+        type.write(encoded, palette);
+        buf = Unpooled.buffer(encoded.readableBytes() * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoded.release();
+        buf.release();
+    }
+
+    @Benchmark
+    public DataPalette read() throws Exception {
+        return type.read(encoded.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuf write() throws Exception {
+        buf.clear();
+        type.write(buf, palette);
+        return buf;
+    }
+
+    @Benchmark
+    public ByteBuf rewrite() throws Exception {
+        // What chunk rewriters do: read the section palette, remap its entries and write it again
+        final DataPalette palette = type.read(encoded.duplicate());
+        for (int i = 0; i < palette.size(); i++) {
+            palette.setIdByIndex(i, palette.idByIndex(i) + 1);
+        }
+
+        buf.clear();
+        type.write(buf, palette);
+        return buf;
+    }
+}
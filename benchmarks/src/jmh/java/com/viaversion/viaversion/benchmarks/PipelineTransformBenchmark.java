@@ -0,0 +1,138 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full clientbound transformation of packets through pipelines of different lengths.
+ * <p>
+ * Keep alive packets only have their id changed, while system chat messages run component handlers on most protocols.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineTransformBenchmark {
+
+    @Param({"1", "5", "15"})
+    private int hops;
+    @Param({"KEEP_ALIVE", "SYSTEM_CHAT"})
+    private String packet;
+    private UserConnection connection;
+    private ByteBuf input;
+    private ByteBuf buf;
+    private int packetId;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final int clientVersion = ProtocolVersion.v1_20_3.getVersion();
+        final ProtocolVersion serverVersion = BenchmarkConnections.serverVersionWithHops(clientVersion, hops);
+        if (serverVersion == null) {
+            throw new IllegalStateException("No server version with a protocol path of " + hops + " protocols");
+        }
+
+        connection = BenchmarkConnections.create(clientVersion, serverVersion.getVersion());
+
+        // The protocol closest to the server receives the packet first
+        final List<ProtocolPathEntry> path = Via.getManager().getProtocolManager().getProtocolPath(clientVersion, serverVersion.getVersion());
+        final Protocol<?, ?, ?, ?> serverProtocol = path.get(path.size() - 1).protocol();
+        final boolean chat = packet.equals("SYSTEM_CHAT");
+        final int serverProtocolVersion = serverVersion.getVersion();
+        // System chat messages are part of the regular chat message packet before 1.19
+        final String packetName = chat && serverProtocolVersion < ProtocolVersion.v1_19.getVersion() ? "CHAT_MESSAGE" : packet;
+        final ClientboundPacketType packetType = serverProtocol.getPacketTypesProvider().unmappedClientboundPacketTypes()
+                .get(State.PLAY).typeByName(packetName);
+        packetId = packetType.getId();
+
+        input = Unpooled.buffer();
+        Type.VAR_INT.writePrimitive(input, packetId);
+        if (chat) {
+            Type.STRING.write(input, "{\"translate\":\"chat.type.announcement\",\"with\":[\"Server\",{\"text\":\"Hello\",\"color\":\"gold\",\"bold\":true}]}");
+            if (serverProtocolVersion >= ProtocolVersion.v1_19_1.getVersion()) {
+                input.writeBoolean(false); // Overlay
+            } else if (serverProtocolVersion >= ProtocolVersion.v1_19.getVersion()) {
+                Type.VAR_INT.writePrimitive(input, 1); // System message type
+            } else {
+                input.writeByte(1); // System message position
+                if (serverProtocolVersion >= ProtocolVersion.v1_16.getVersion()) {
+                    Type.UUID.write(input, new UUID(0, 0)); // Sender
+                }
+            }
+        } else if (serverProtocolVersion >= ProtocolVersion.v1_12_2.getVersion()) {
+            input.writeLong(0x5EED_5EEDL);
+        } else {
+            Type.VAR_INT.writePrimitive(input, 0x5EED);
+        }
+        buf = Unpooled.buffer(input.readableBytes() * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.release();
+        buf.release();
+    }
+
+    @Benchmark
+    public ByteBuf transformConnection() throws Exception {
+        buf.clear().writeBytes(input, input.readerIndex(), input.readableBytes());
+        connection.transformClientbound(buf, CancelEncoderException::generate);
+        return buf;
+    }
+
+    @Benchmark
+    public ByteBuf transformPipeline() throws Exception {
+        // Always goes through a packet wrapper, even if only the packet id changes
+        final ByteBuf contents = input.duplicate();
+        Type.VAR_INT.readPrimitive(contents);
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(packetId, contents, connection);
+        connection.getProtocolInfo().getPipeline().transform(Direction.CLIENTBOUND, State.PLAY, wrapper);
+        buf.clear();
+        wrapper.writeToBuffer(buf);
+        return buf;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmarks;
+
+import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarIntTypeBenchmark {
+
+    private static final int VALUES = 1024;
+    private final int[] values = new int[VALUES];
+    private final int[] readValues = new int[VALUES];
+    private ByteBuf encoded;
+    private ByteBuf encodedLongs;
+    private ByteBuf buf;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Mostly small ids and lengths, with the occasional large or negative value
+        final Random random = new Random(0x5EED);
+        for (int i = 0; i < VALUES; i++) {
+            final int roll = random.nextInt(100);
+            if (roll < 60) {
+                values[i] = random.nextInt(128);
+            } else if (roll < 85) {
+                values[i] = random.nextInt(16384);
+            } else if (roll < 95) {
+                values[i] = random.nextInt(1 << 21);
+            } else {
+                values[i] = random.nextInt();
+            }
+        }
+
+        encoded = Unpooled.buffer(VALUES * 5);
+        for (final int value : values) {
+            Type.VAR_INT.writePrimitive(encoded, value);
+        }
+        buf = Unpooled.buffer(VALUES * 10);
+
+        // Block change record sized VarLongs
+        encodedLongs = Unpooled.buffer(VALUES * 10);
+        for (final int value : values) {
+            Type.VAR_LONG.writePrimitive(encodedLongs, (long) value << 12 | 0x7FF);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoded.release();
+        encodedLongs.release();
+        buf.release();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public ByteBuf write() {
+        buf.clear();
+        for (final int value : values) {
+            Type.VAR_INT.writePrimitive(buf, value);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public ByteBuf writeBulk() {
+        buf.clear();
+        Type.VAR_INT.writePrimitives(buf, values);
+        return buf;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public ByteBuf writeByteLoop() {
+        buf.clear();
+        for (final int value : values) {
+            writeByteLoop(buf, value);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void read(final Blackhole blackhole) {
+        final ByteBuf input = encoded.duplicate();
+        for (int i = 0; i < VALUES; i++) {
+            blackhole.consume(Type.VAR_INT.readPrimitive(input));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int[] readBulk() {
+        final ByteBuf input = encoded.duplicate();
+        Type.VAR_INT.readPrimitives(input, readValues);
+        return readValues;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readByteLoop(final Blackhole blackhole) {
+        final ByteBuf input = encoded.duplicate();
+        for (int i = 0; i < VALUES; i++) {
+            blackhole.consume(readByteLoop(input));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readVarLong(final Blackhole blackhole) {
+        final ByteBuf input = encodedLongs.duplicate();
+        for (int i = 0; i < VALUES; i++) {
+            blackhole.consume(Type.VAR_LONG.readPrimitive(input));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public ByteBuf writeVarLong() {
+        buf.clear();
+        for (final int value : values) {
+            Type.VAR_LONG.writePrimitive(buf, (long) value << 12 | 0x7FF);
+        }
+        return buf;
+    }
+
+    // Previous implementations, kept as the baseline to compare against
+    private static int readByteLoop(final ByteBuf buffer) {
+        int value = 0;
+        int bytes = 0;
+        byte in;
+        do {
+            in = buffer.readByte();
+            value |= (in & 0x7F) << (bytes++ * 7);
+            if (bytes > 5) {
+                throw new RuntimeException("VarInt too big");
+            }
+        } while ((in & 0x80) == 0x80);
+        return value;
+    }
+
+    private static void writeByteLoop(final ByteBuf buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.writeByte(value);
+    }
+}
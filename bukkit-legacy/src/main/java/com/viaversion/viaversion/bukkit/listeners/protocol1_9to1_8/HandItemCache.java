@@ -19,38 +19,173 @@ package com.viaversion.viaversion.bukkit.listeners.protocol1_9to1_8;
 
 import com.viaversion.viaversion.api.minecraft.item.DataItem;
 import com.viaversion.viaversion.api.minecraft.item.Item;
-import java.util.ArrayList;
-import java.util.List;
+import com.viaversion.viaversion.bukkit.listeners.ViaBukkitListener;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemConsumeEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerPickupItemEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.plugin.Plugin;
 
-public class HandItemCache extends BukkitRunnable {
+/**
+ * Caches the hand items of players, updated on the main thread when events may have changed them.
+ * Since not every change comes with an event, all players are additionally validated at a low rate.
+ */
+public class HandItemCache extends ViaBukkitListener implements Runnable {
 
+    private static final int VALIDATION_INTERVAL = 20; // Ticks
     private final Map<UUID, Item> handCache = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = new HashSet<>(); // Only accessed on the main thread
+    private int ticks;
+
+    public HandItemCache(Plugin plugin) {
+        super(plugin, null);
+    }
 
+    /**
+     * Updates the hand items of players marked by events and validates all cached items every {@link #VALIDATION_INTERVAL} ticks.
+     * Must be run on the main thread every tick.
+     */
     @Override
     public void run() {
-        List<UUID> players = new ArrayList<>(handCache.keySet());
+        if (!dirty.isEmpty()) {
+            for (UUID uuid : dirty) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    update(player, player.getItemInHand());
+                }
+            }
+            dirty.clear();
+        }
 
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            handCache.put(p.getUniqueId(), convert(p.getItemInHand()));
-            players.remove(p.getUniqueId());
+        if (++ticks >= VALIDATION_INTERVAL) {
+            ticks = 0;
+            validate();
         }
-        // Remove offline players
-        for (UUID uuid : players) {
-            handCache.remove(uuid);
+    }
+
+    private void validate() {
+        int online = 0;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player, player.getItemInHand());
+            online++;
+        }
+
+        // Remove players that have gone offline without a quit event
+        if (handCache.size() > online) {
+            handCache.keySet().removeIf(uuid -> Bukkit.getPlayer(uuid) == null);
+        }
+    }
+
+    private void update(Player player, ItemStack itemInHand) {
+        Item cached = handCache.get(player.getUniqueId());
+        if (cached == null || !matches(cached, itemInHand)) {
+            handCache.put(player.getUniqueId(), convert(itemInHand));
+        }
+    }
+
+    private void markDirty(HumanEntity entity) {
+        if (entity instanceof Player) {
+            dirty.add(entity.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        update(e.getPlayer(), e.getPlayer().getItemInHand());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        handCache.remove(e.getPlayer().getUniqueId());
+        dirty.remove(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent e) {
+        // The held slot only changes after the event
+        update(e.getPlayer(), e.getPlayer().getInventory().getItem(e.getNewSlot()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent e) {
+        markDirty(e.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent e) {
+        markDirty(e.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(PlayerPickupItemEvent e) {
+        markDirty(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent e) {
+        markDirty(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onConsume(PlayerItemConsumeEvent e) {
+        markDirty(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent e) {
+        markDirty(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent e) {
+        markDirty(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent e) {
+        // Using items may change their amount or durability, e.g. buckets or flint and steel
+        if (e.getItem() != null) {
+            markDirty(e.getPlayer());
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent e) {
+        markDirty(e.getPlayer());
+    }
+
     public Item getHandItem(UUID player) {
         return handCache.get(player);
     }
 
+    private static boolean matches(Item item, ItemStack itemInHand) {
+        if (itemInHand == null) {
+            return item.identifier() == 0;
+        }
+        return item.identifier() == itemInHand.getTypeId()
+                && item.amount() == (byte) itemInHand.getAmount()
+                && item.data() == itemInHand.getDurability();
+    }
+
     public static Item convert(ItemStack itemInHand) {
         if (itemInHand == null) return new DataItem(0, (byte) 0, (short) 0, null);
         return new DataItem(itemInHand.getTypeId(), (byte) itemInHand.getAmount(), itemInHand.getDurability(), null);
@@ -48,7 +48,7 @@ public final class BukkitDecodeHandler extends MessageToMessageDecoder<ByteBuf>
             return;
         }
 
-        final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+        final ByteBuf transformedBuf = ctx.alloc().buffer(bytebuf.readableBytes()).writeBytes(bytebuf);
         try {
             connection.transformIncoming(transformedBuf, CancelDecoderException::generate);
             out.add(transformedBuf.retain());
@@ -52,7 +52,7 @@ public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf>
             return;
         }
 
-        final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+        final ByteBuf transformedBuf = PipelineUtil.transformableBuffer(ctx, bytebuf);
         try {
             final boolean needsCompression = !handledCompression && handleCompressionOrder(ctx, transformedBuf);
             connection.transformClientbound(transformedBuf, CancelEncoderException::generate);
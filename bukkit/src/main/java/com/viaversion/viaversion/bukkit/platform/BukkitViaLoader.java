@@ -96,8 +96,9 @@ public class BukkitViaLoader implements ViaPlatformLoader {
             new BlockListener(plugin).register();
 
             if (plugin.getConf().isItemCache()) {
-                handItemCache = new HandItemCache();
-                tasks.add(handItemCache.runTaskTimerAsynchronously(plugin, 1L, 1L)); // Updates player's items :)
+                handItemCache = new HandItemCache(plugin);
+                handItemCache.register();
+                tasks.add(Bukkit.getScheduler().runTaskTimer(plugin, handItemCache, 1L, 1L)); // Updates player's items :)
             }
         }
 
@@ -46,7 +46,7 @@ public class BungeeDecodeHandler extends MessageToMessageDecoder<ByteBuf> {
             return;
         }
 
-        ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+        ByteBuf transformedBuf = ctx.alloc().buffer(bytebuf.readableBytes()).writeBytes(bytebuf);
         try {
             info.transformServerbound(transformedBuf, CancelDecoderException::generate);
             out.add(transformedBuf.retain());
@@ -25,6 +25,7 @@ import com.viaversion.viaversion.api.protocol.version.BlockedProtocolVersions;
 import com.viaversion.viaversion.api.protocol.version.ServerProtocolVersion;
 import com.viaversion.viaversion.legacy.LegacyAPI;
 import io.netty.buffer.ByteBuf;
+import java.util.Collection;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.UUID;
@@ -70,6 +71,21 @@ public abstract class ViaAPIBase<T> implements ViaAPI<T> {
         user.scheduleSendRawPacket(packet);
     }
 
+    @Override
+    public void broadcastRawPacket(Collection<UUID> uuids, ByteBuf packet) {
+        try {
+            for (UUID uuid : uuids) {
+                UserConnection user = Via.getManager().getConnectionManager().getConnectedClient(uuid);
+                if (user != null) {
+                    // Separate reader index for each channel, sharing the contents
+                    user.scheduleSendRawPacket(packet.duplicate().retain());
+                }
+            }
+        } finally {
+            packet.release();
+        }
+    }
+
     @Override
     public SortedSet<Integer> getSupportedVersions() {
         SortedSet<Integer> outputSet = new TreeSet<>(Via.getManager().getProtocolManager().getSupportedVersions());
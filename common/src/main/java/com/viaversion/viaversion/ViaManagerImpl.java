@@ -20,8 +20,10 @@ package com.viaversion.viaversion;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.ViaManager;
 import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
+import com.viaversion.viaversion.api.configuration.ViaVersionConfig;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.platform.PlatformTask;
 import com.viaversion.viaversion.api.platform.UnsupportedSoftware;
 import com.viaversion.viaversion.api.platform.ViaInjector;
@@ -31,24 +33,28 @@ import com.viaversion.viaversion.api.platform.providers.ViaProviders;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.api.protocol.version.ServerProtocolVersion;
+import com.viaversion.viaversion.api.scheduler.ConnectionScheduler;
 import com.viaversion.viaversion.api.scheduler.Scheduler;
+import com.viaversion.viaversion.api.scheduler.Task;
 import com.viaversion.viaversion.commands.ViaCommandHandler;
 import com.viaversion.viaversion.configuration.ConfigurationProviderImpl;
 import com.viaversion.viaversion.connection.ConnectionManagerImpl;
 import com.viaversion.viaversion.debug.DebugHandlerImpl;
+import com.viaversion.viaversion.debug.TransformMetricsImpl;
 import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionRange;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionSingleton;
-import com.viaversion.viaversion.protocols.protocol1_13to1_12_2.TabCompleteThread;
-import com.viaversion.viaversion.protocols.protocol1_9to1_8.ViaIdleThread;
+import com.viaversion.viaversion.scheduler.ConnectionTimerWheel;
 import com.viaversion.viaversion.scheduler.TaskScheduler;
 import com.viaversion.viaversion.update.UpdateUtil;
+import com.viaversion.viaversion.util.CoarseClock;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -56,10 +62,12 @@ import java.util.regex.Pattern;
 public class ViaManagerImpl implements ViaManager {
     private final ProtocolManagerImpl protocolManager = new ProtocolManagerImpl();
     private final ConnectionManager connectionManager = new ConnectionManagerImpl();
-    private final ConfigurationProvider configurationProvider = new ConfigurationProviderImpl();
+    private final ConfigurationProviderImpl configurationProvider = new ConfigurationProviderImpl();
     private final DebugHandler debugHandler = new DebugHandlerImpl();
+    private final TransformMetrics transformMetrics = new TransformMetricsImpl();
     private final ViaProviders providers = new ViaProviders();
     private final Scheduler scheduler = new TaskScheduler();
+    private final ConnectionTimerWheel connectionScheduler = new ConnectionTimerWheel();
     private final ViaPlatform<?> platform;
     private final ViaInjector injector;
     private final ViaCommandHandler commandHandler;
@@ -67,6 +75,7 @@ public class ViaManagerImpl implements ViaManager {
     private final Set<String> subPlatforms = new HashSet<>();
     private List<Runnable> enableListeners = new ArrayList<>();
     private PlatformTask<?> mappingLoadingTask;
+    private Task coarseClockTask;
     private boolean initialized;
 
     public ViaManagerImpl(ViaPlatform<?> platform, ViaInjector injector, ViaCommandHandler commandHandler, ViaPlatformLoader loader) {
@@ -82,6 +91,9 @@ public class ViaManagerImpl implements ViaManager {
 
     public void init() {
         configurationProvider.register(platform.getConf());
+        configurationProvider.addReloadListener(this::updateCoarseClock);
+        transformMetrics.setEnabled(platform.getConf().transformMetrics());
+        updateCoarseClock();
 
         if (System.getProperty("ViaVersion") != null) {
             // Reload?
@@ -167,17 +179,8 @@ public class ViaManagerImpl implements ViaManager {
             }
         }, 10L);
 
-        int serverProtocolVersion = protocolManager.getServerProtocolVersion().lowestSupportedVersion();
-        if (serverProtocolVersion < ProtocolVersion.v1_9.getVersion()) {
-            if (Via.getConfig().isSimulatePlayerTick()) {
-                Via.getPlatform().runRepeatingSync(new ViaIdleThread(), 1L);
-            }
-        }
-        if (serverProtocolVersion < ProtocolVersion.v1_13.getVersion()) {
-            if (Via.getConfig().get1_13TabCompleteDelay() > 0) {
-                Via.getPlatform().runRepeatingSync(new TabCompleteThread(), 1L);
-            }
-        }
+        // Runs per-connection tasks such as idle packets and delayed tab completions
+        Via.getPlatform().runRepeatingSync(connectionScheduler, 1L);
 
         // Refresh Versions
         protocolManager.refreshVersions();
@@ -210,9 +213,35 @@ public class ViaManagerImpl implements ViaManager {
         }
 
         loader.unload();
+        stopCoarseClock();
         scheduler.shutdown();
     }
 
+    /**
+     * Only ticks the coarse clock while a packet limiter reads it, as it would otherwise wake up every few milliseconds for nothing.
+     */
+    private synchronized void updateCoarseClock() {
+        final ViaVersionConfig config = platform.getConf();
+        final boolean limiterEnabled = config.getMaxPPS() > 0
+                || (config.getMaxWarnings() > 0 && config.getTrackingPeriod() > 0)
+                || config.getMaxPacketBudget() > 0
+                || !config.getPacketTypeLimits().isEmpty();
+        if (!limiterEnabled) {
+            stopCoarseClock();
+        } else if (coarseClockTask == null) {
+            CoarseClock.start();
+            coarseClockTask = scheduler.scheduleRepeating(CoarseClock::tick, 0, CoarseClock.RESOLUTION_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopCoarseClock() {
+        if (coarseClockTask != null) {
+            coarseClockTask.cancel();
+            coarseClockTask = null;
+        }
+        CoarseClock.stop();
+    }
+
     private void checkJavaVersion() { // Stolen from Paper
         String javaVersion = System.getProperty("java.version");
         Matcher matcher = Pattern.compile("(?:1\\.)?(\\d+)").matcher(javaVersion);
@@ -288,6 +317,11 @@ public class ViaManagerImpl implements ViaManager {
         return debugHandler;
     }
 
+    @Override
+    public TransformMetrics transformMetrics() {
+        return transformMetrics;
+    }
+
     @Override
     public ViaInjector getInjector() {
         return injector;
@@ -308,6 +342,11 @@ public class ViaManagerImpl implements ViaManager {
         return scheduler;
     }
 
+    @Override
+    public ConnectionScheduler getConnectionScheduler() {
+        return connectionScheduler;
+    }
+
     @Override
     public ConfigurationProvider getConfigurationProvider() {
         return configurationProvider;
@@ -30,6 +30,7 @@ import com.viaversion.viaversion.commands.defaultsubs.DumpSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ListSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.PPSSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ReloadSubCmd;
+import com.viaversion.viaversion.commands.defaultsubs.StatsSubCmd;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -188,6 +189,7 @@ public abstract class ViaCommandHandler implements ViaVersionCommand {
     private void registerDefaults() {
         registerSubCommand(new ListSubCmd());
         registerSubCommand(new PPSSubCmd());
+        registerSubCommand(new StatsSubCmd());
         registerSubCommand(new DebugSubCmd());
         registerSubCommand(new DumpSubCmd());
         registerSubCommand(new DisplayLeaksSubCmd());
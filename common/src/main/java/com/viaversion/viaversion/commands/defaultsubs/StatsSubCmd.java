@@ -0,0 +1,139 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.commands.defaultsubs;
+
+import com.google.common.cache.CacheStats;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.command.ViaCommandSender;
+import com.viaversion.viaversion.api.command.ViaSubCommand;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.util.ComponentUtil;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class StatsSubCmd extends ViaSubCommand {
+    private static final int DEFAULT_ENTRIES = 10;
+
+    @Override
+    public String name() {
+        return "stats";
+    }
+
+    @Override
+    public String description() {
+        return "Shows the most expensive packet transformations per protocol.";
+    }
+
+    @Override
+    public String usage() {
+        return "stats [enable|disable|reset|<entries>]";
+    }
+
+    @Override
+    public boolean execute(final ViaCommandSender sender, final String[] args) {
+        final TransformMetrics metrics = Via.getManager().transformMetrics();
+        int entries = DEFAULT_ENTRIES;
+        if (args.length == 1) {
+            final String arg = args[0].toLowerCase(Locale.ROOT);
+            switch (arg) {
+                case "enable":
+                case "disable":
+                    metrics.setEnabled(arg.equals("enable"));
+                    sendMessage(sender, "&6Transform metrics are now %s", metrics.enabled() ? "&aenabled" : "&cdisabled");
+                    return true;
+                case "reset":
+                    metrics.reset();
+                    sendMessage(sender, "&6Cleared transform metrics");
+                    return true;
+                default:
+                    try {
+                        entries = Integer.parseInt(arg);
+                    } catch (final NumberFormatException e) {
+                        return false;
+                    }
+            }
+        } else if (args.length > 1) {
+            return false;
+        }
+
+        if (!metrics.enabled()) {
+            sendMessage(sender, "&cTransform metrics are disabled, enable them with /viaversion stats enable");
+        }
+
+        final CacheStats cacheStats = ComponentUtil.conversionCacheStats();
+        sendMessage(sender, "&6Component conversion cache: &f%d &7hits, &f%d &7misses (&f%.1f%%&7), &f%d &7evictions",
+                cacheStats.hitCount(), cacheStats.missCount(), cacheStats.hitRate() * 100, cacheStats.evictionCount());
+
+        final List<TransformMetrics.Entry> recorded = metrics.entries();
+        if (recorded.isEmpty()) {
+            sendMessage(sender, "&cNo packet transformations recorded.");
+            return true;
+        }
+
+        sendMessage(sender, "&4Most expensive packet transformations");
+        sendMessage(sender, "&7Id-only and cached packets skip the protocols' handlers and are only counted for the pipeline");
+        for (final TransformMetrics.Entry entry : recorded.subList(0, Math.min(entries, recorded.size()))) {
+            sendMessage(sender, "&8[&6%s&8] &b%s %s %s&7: &f%d &7packets, &f%s &7total, &f%s &7avg, &f<%s &7p99%s",
+                    ProtocolPipeline.class.isAssignableFrom(entry.protocolClass()) ? "Pipeline" : entry.protocolClass().getSimpleName(),
+                    entry.direction(), entry.state(),
+                    entry.packetType() != null ? entry.packetType().getName() : AbstractProtocol.toNiceHex(entry.packetId()),
+                    entry.count(), formatNanos(entry.nanos()), formatNanos(entry.nanos() / entry.count()),
+                    formatNanos(entry.percentileNanos(0.99)), details(entry));
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(final ViaCommandSender sender, final String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("enable", "disable", "reset");
+        }
+        return Collections.emptyList();
+    }
+
+    private static String details(final TransformMetrics.Entry entry) {
+        final StringBuilder builder = new StringBuilder();
+        if (entry.bytesIn() != 0) {
+            builder.append(", &f").append(entry.bytesIn() / 1024).append("KiB &7in, &f").append(entry.bytesOut() / 1024).append("KiB &7out");
+        }
+        if (entry.cancelled() != 0) {
+            builder.append(", &f").append(entry.cancelled()).append(" &7cancelled");
+        }
+        if (entry.failed() != 0) {
+            builder.append(", &c").append(entry.failed()).append(" failed");
+        }
+        if (entry.idRewritten() != 0) {
+            builder.append(", &f").append(entry.idRewritten()).append(" &7id-only");
+        }
+        if (entry.cached() != 0) {
+            builder.append(", &f").append(entry.cached()).append(" &7cached");
+        }
+        return builder.toString();
+    }
+
+    private static String formatNanos(final long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000D);
+        }
+        return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000D);
+    }
+}
@@ -27,6 +27,7 @@ import com.viaversion.viaversion.util.Config;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +55,10 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     private int warningPPS;
     private int maxPPSWarnings;
     private String maxPPSWarningsKickMessage;
+    private int maxPacketBudget;
+    private String packetBudgetKickMessage;
+    private Map<String, Integer> packetCosts;
+    private Map<String, Integer> packetTypeLimits;
     private boolean sendSupportedVersions;
     private boolean simulatePlayerTick;
     private boolean itemCache;
@@ -88,6 +93,10 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     private JsonElement resourcePack1_17PromptMessage;
     private WorldIdentifiers map1_16WorldNames;
     private boolean cache1_17Light;
+    private boolean reusePacketWrappers;
+    private boolean memoryMappedMappings;
+    private int sharedPacketCacheSize;
+    private boolean transformMetrics;
 
     protected AbstractViaConfig(final File configFile) {
         super(configFile);
@@ -119,6 +128,10 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         warningPPS = getInt("tracking-warning-pps", 120);
         maxPPSWarnings = getInt("tracking-max-warnings", 3);
         maxPPSWarningsKickMessage = getString("tracking-max-kick-msg", "You are sending too many packets, :(");
+        maxPacketBudget = getInt("max-packet-budget", -1);
+        packetBudgetKickMessage = getString("packet-budget-kick-msg", "You are sending too many packets!");
+        packetCosts = loadPacketTypeValues("packet-costs");
+        packetTypeLimits = loadPacketTypeValues("packet-type-limits");
         sendSupportedVersions = getBoolean("send-supported-versions", false);
         simulatePlayerTick = getBoolean("simulate-pt", true);
         itemCache = getBoolean("item-cache", true);
@@ -156,6 +169,10 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
                 worlds.getOrDefault("nether", WorldIdentifiers.NETHER_DEFAULT),
                 worlds.getOrDefault("end", WorldIdentifiers.END_DEFAULT));
         cache1_17Light = getBoolean("cache-1_17-light", true);
+        reusePacketWrappers = getBoolean("reuse-packet-wrappers", false);
+        memoryMappedMappings = getBoolean("memory-mapped-mappings", false);
+        sharedPacketCacheSize = Math.max(0, getInt("shared-packet-cache-size", 0));
+        transformMetrics = getBoolean("transform-metrics", false);
     }
 
     private BlockedProtocolVersions loadBlockedProtocolVersions() {
@@ -218,6 +235,19 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         return new BlockedProtocolVersionsImpl(blockedProtocols, lowerBound, upperBound);
     }
 
+    private Map<String, Integer> loadPacketTypeValues(String key) {
+        Map<?, ?> section = get(key, Map.class, new HashMap<>());
+        Map<String, Integer> values = new HashMap<>();
+        for (Map.Entry<?, ?> entry : section.entrySet()) {
+            if (entry.getValue() instanceof Integer && (Integer) entry.getValue() > 0) {
+                values.put(entry.getKey().toString(), (Integer) entry.getValue());
+            } else {
+                LOGGER.warning("Invalid value for packet type " + entry.getKey() + " in " + key + ": " + entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
     private @Nullable ProtocolVersion protocolVersion(String s) {
         ProtocolVersion protocolVersion = ProtocolVersion.getClosest(s);
         if (protocolVersion == null) {
@@ -328,6 +358,26 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         return maxPPSWarningsKickMessage;
     }
 
+    @Override
+    public int getMaxPacketBudget() {
+        return maxPacketBudget;
+    }
+
+    @Override
+    public String getPacketBudgetKickMessage() {
+        return packetBudgetKickMessage;
+    }
+
+    @Override
+    public Map<String, Integer> getPacketCosts() {
+        return packetCosts;
+    }
+
+    @Override
+    public Map<String, Integer> getPacketTypeLimits() {
+        return packetTypeLimits;
+    }
+
     @Override
     public boolean isSendSupportedVersions() {
         return sendSupportedVersions;
@@ -528,4 +578,24 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     public boolean isArmorToggleFix() {
         return false;
     }
+
+    @Override
+    public boolean reusePacketWrappers() {
+        return reusePacketWrappers;
+    }
+
+    @Override
+    public boolean memoryMappedMappings() {
+        return memoryMappedMappings;
+    }
+
+    @Override
+    public int sharedPacketCacheSize() {
+        return sharedPacketCacheSize;
+    }
+
+    @Override
+    public boolean transformMetrics() {
+        return transformMetrics;
+    }
 }
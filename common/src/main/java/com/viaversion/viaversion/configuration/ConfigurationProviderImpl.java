@@ -26,6 +26,7 @@ import java.util.List;
 
 public class ConfigurationProviderImpl implements ConfigurationProvider {
     private final List<Config> configs = new ArrayList<>();
+    private final List<Runnable> reloadListeners = new ArrayList<>();
 
     @Override
     public void register(final Config config) {
@@ -42,5 +43,17 @@ public class ConfigurationProviderImpl implements ConfigurationProvider {
         for (final Config config : configs) {
             config.reload();
         }
+        for (final Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Adds a runnable to be executed after all configs have been reloaded.
+     *
+     * @param runnable runnable to be executed
+     */
+    public void addReloadListener(final Runnable runnable) {
+        reloadListeners.add(runnable);
     }
 }
@@ -0,0 +1,300 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.connection;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Table of values keyed by class, stored in an array at a slot index assigned once per class for the whole process.
+ * Lookups are a class value and array access, without hashing or per-entry allocations in the table.
+ * <p>
+ * Reads are lock-free, while writes are synchronized on the table.
+ *
+ * @param <T> value type
+ */
+final class ClassSlotTable<T> {
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private final Slots slots;
+    private final MapView mapView = new MapView();
+    private volatile AtomicReferenceArray<T> values;
+
+    ClassSlotTable(final Slots slots) {
+        this.slots = slots;
+        this.values = new AtomicReferenceArray<>(slots.size());
+    }
+
+    @Nullable T get(final Class<?> type) {
+        final int slot = slots.slot(type);
+        final AtomicReferenceArray<T> values = this.values;
+        return slot != Slots.UNASSIGNED && slot < values.length() ? values.get(slot) : null;
+    }
+
+    synchronized @Nullable T put(final Class<?> type, final T value) {
+        final int slot = slots.assign(type);
+        return ensureCapacity(slot).getAndSet(slot, value);
+    }
+
+    synchronized @Nullable T putIfAbsent(final Class<?> type, final T value) {
+        final int slot = slots.assign(type);
+        final AtomicReferenceArray<T> values = ensureCapacity(slot);
+        final T previous = values.get(slot);
+        if (previous == null) {
+            values.set(slot, value);
+        }
+        return previous;
+    }
+
+    synchronized @Nullable T remove(final Class<?> type) {
+        final int slot = slots.slot(type);
+        final AtomicReferenceArray<T> values = this.values;
+        return slot != Slots.UNASSIGNED && slot < values.length() ? values.getAndSet(slot, null) : null;
+    }
+
+    synchronized void removeIf(final Predicate<T> predicate) {
+        final AtomicReferenceArray<T> values = this.values;
+        for (int i = 0; i < values.length(); i++) {
+            final T value = values.get(i);
+            if (value != null && predicate.test(value)) {
+                values.set(i, null);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        this.values = new AtomicReferenceArray<>(slots.size());
+    }
+
+    /**
+     * Returns a snapshot of the values present in the table.
+     *
+     * @return snapshot of the present values
+     */
+    List<T> values() {
+        final AtomicReferenceArray<T> values = this.values;
+        final List<T> list = new ArrayList<>();
+        for (int i = 0; i < values.length(); i++) {
+            final T value = values.get(i);
+            if (value != null) {
+                list.add(value);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns a live view of the table as a map from the key classes to their values.
+     *
+     * @return map view backed by the table
+     */
+    Map<Class<?>, T> asMap() {
+        return mapView;
+    }
+
+    /**
+     * Returns the estimated heap size of the table itself, excluding the stored values.
+     *
+     * @return estimated heap size in bytes
+     */
+    long heapSize() {
+        return ARRAY_HEADER_BYTES + (long) values.length() * REFERENCE_BYTES;
+    }
+
+    private AtomicReferenceArray<T> ensureCapacity(final int slot) {
+        AtomicReferenceArray<T> values = this.values;
+        if (slot < values.length()) {
+            return values;
+        }
+
+        // Grow to all currently known slots so that other classes registered in the meantime fit as well
+        final AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(Math.max(slot + 1, slots.size()));
+        for (int i = 0; i < values.length(); i++) {
+            grown.set(i, values.get(i));
+        }
+        this.values = grown;
+        return grown;
+    }
+
+    /**
+     * Process-wide assignment of slot indexes to classes.
+     * <p>
+     * Slots are only assigned once a value of the class is stored, lookups of other classes do not grow any table.
+     * Classes are only weakly referenced, so that classes of unloaded addons can still be collected. Their slots are not reused.
+     */
+    static final class Slots extends ClassValue<Slots.Slot> {
+        static final int UNASSIGNED = -1;
+        private final List<WeakReference<Class<?>>> types = new ArrayList<>();
+
+        @Override
+        protected Slot computeValue(final Class<?> type) {
+            return new Slot();
+        }
+
+        /**
+         * Returns the slot index of the given class without assigning one.
+         *
+         * @param type key class
+         * @return slot index, or {@link #UNASSIGNED} if no value of the class has been stored yet
+         */
+        int slot(final Class<?> type) {
+            return get(type).index;
+        }
+
+        /**
+         * Returns the slot index of the given class, assigning the next free one if needed.
+         *
+         * @param type key class
+         * @return slot index
+         */
+        int assign(final Class<?> type) {
+            final Slot slot = get(type);
+            final int index = slot.index;
+            if (index != UNASSIGNED) {
+                return index;
+            }
+
+            synchronized (this) {
+                if (slot.index == UNASSIGNED) {
+                    types.add(new WeakReference<>(type));
+                    slot.index = types.size() - 1;
+                }
+                return slot.index;
+            }
+        }
+
+        synchronized int size() {
+            return types.size();
+        }
+
+        synchronized @Nullable Class<?> type(final int slot) {
+            return types.get(slot).get();
+        }
+
+        static final class Slot {
+            private volatile int index = UNASSIGNED;
+        }
+    }
+
+    private final class MapView extends AbstractMap<Class<?>, T> {
+
+        @Override
+        public @Nullable T get(final Object key) {
+            return key instanceof Class ? ClassSlotTable.this.get((Class<?>) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public @Nullable T put(final Class<?> key, final T value) {
+            return ClassSlotTable.this.put(key, value);
+        }
+
+        @Override
+        public @Nullable T remove(final Object key) {
+            return key instanceof Class ? ClassSlotTable.this.remove((Class<?>) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            ClassSlotTable.this.clear();
+        }
+
+        @Override
+        public Set<Entry<Class<?>, T>> entrySet() {
+            return new AbstractSet<Entry<Class<?>, T>>() {
+                @Override
+                public Iterator<Entry<Class<?>, T>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return ClassSlotTable.this.values().size();
+                }
+            };
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Class<?>, T>> {
+        private final AtomicReferenceArray<T> values = ClassSlotTable.this.values;
+        private int nextSlot = -1;
+        private @Nullable Entry<Class<?>, T> next;
+        private @Nullable Class<?> lastType;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (++nextSlot < values.length()) {
+                final T value = values.get(nextSlot);
+                final Class<?> type = value != null ? slots.type(nextSlot) : null;
+                if (type != null) {
+                    next = new AbstractMap.SimpleImmutableEntry<Class<?>, T>(type, value) {
+                        @Override
+                        public T setValue(final T newValue) {
+                            return ClassSlotTable.this.put(type, newValue);
+                        }
+                    };
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<Class<?>, T> next() {
+            final Entry<Class<?>, T> entry = next;
+            if (entry == null) {
+                throw new NoSuchElementException();
+            }
+            lastType = entry.getKey();
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastType == null) {
+                throw new IllegalStateException();
+            }
+            ClassSlotTable.this.remove(lastType);
+            lastType = null;
+        }
+    }
+}
@@ -23,13 +23,17 @@ import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketTracker;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.types.VarIntType;
+import com.viaversion.viaversion.exception.CancelCodecException;
 import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.protocol.SharedPacketCache;
 import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
 import com.viaversion.viaversion.util.ChatColorUtil;
 import com.viaversion.viaversion.util.PipelineUtil;
@@ -39,11 +43,9 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -52,13 +54,14 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class UserConnectionImpl implements UserConnection {
     private static final AtomicLong IDS = new AtomicLong();
     private final long id = IDS.incrementAndGet();
-    private final Map<Class<?>, StorableObject> storedObjects = new ConcurrentHashMap<>();
-    private final Map<Class<? extends Protocol>, EntityTracker> entityTrackers = new HashMap<>();
+    private static final ClassSlotTable.Slots STORABLE_OBJECT_SLOTS = new ClassSlotTable.Slots();
+    private static final ClassSlotTable.Slots ENTITY_TRACKER_SLOTS = new ClassSlotTable.Slots();
+    private final ClassSlotTable<StorableObject> storedObjects = new ClassSlotTable<>(STORABLE_OBJECT_SLOTS);
+    private final ClassSlotTable<EntityTracker> entityTrackers = new ClassSlotTable<>(ENTITY_TRACKER_SLOTS);
     private final PacketTracker packetTracker = new PacketTracker(this);
-    private final Set<UUID> passthroughTokens = Collections.newSetFromMap(CacheBuilder.newBuilder()
-            .expireAfterWrite(10, TimeUnit.SECONDS)
-            .<UUID, Boolean>build().asMap());
+    private volatile Set<UUID> passthroughTokens; // Created on first use, most connections never need one
     private final ProtocolInfo protocolInfo = new ProtocolInfoImpl(this);
+    private final PacketWrapperImpl[] reusableWrappers = new PacketWrapperImpl[Direction.values().length];
     private final Channel channel;
     private final boolean clientSide;
     private boolean active = true;
@@ -90,7 +93,7 @@ public class UserConnectionImpl implements UserConnection {
 
     @Override
     public boolean has(Class<? extends StorableObject> objectClass) {
-        return storedObjects.containsKey(objectClass);
+        return storedObjects.get(objectClass) != null;
     }
 
     @Override
@@ -122,15 +125,13 @@ public class UserConnectionImpl implements UserConnection {
 
     @Override
     public void addEntityTracker(Class<? extends Protocol> protocolClass, EntityTracker tracker) {
-        if (!entityTrackers.containsKey(protocolClass)) {
-            entityTrackers.put(protocolClass, tracker);
-        }
+        entityTrackers.putIfAbsent(protocolClass, tracker);
     }
 
     @Override
     public void clearStoredObjects(boolean isServerSwitch) {
         if (isServerSwitch) {
-            storedObjects.values().removeIf(storableObject -> {
+            storedObjects.removeIf(storableObject -> {
                 if (storableObject.clearOnServerSwitch()) {
                     storableObject.onRemove();
                     return true;
@@ -314,30 +315,169 @@ public class UserConnectionImpl implements UserConnection {
     }
 
     private void transform(ByteBuf buf, Direction direction, Function<Throwable, Exception> cancelSupplier) throws Exception {
-        if (!buf.isReadable()) return;
+        final TransformMetrics metrics = Via.getManager().transformMetrics();
+        if (!metrics.enabled() || !buf.isReadable()) {
+            transformPacket(buf, direction, cancelSupplier);
+            return;
+        }
+
+        // Peek the packet id and state before they are changed by the transformation.
+        // Packets taking the id-only or cache path skip the protocols' handlers, so they are only recorded for the pipeline here
+        final State state = protocolInfo.getState(direction);
+        final int bytesIn = buf.readableBytes();
+        final int readerIndex = buf.readerIndex();
+        final int id = Type.VAR_INT.readPrimitive(buf);
+        buf.readerIndex(readerIndex);
+
+        final long start = System.nanoTime();
+        TransformMetrics.Result result = TransformMetrics.Result.FAILED;
+        try {
+            result = transformPacket(buf, direction, cancelSupplier);
+        } catch (Exception e) {
+            if (e instanceof CancelCodecException) {
+                result = TransformMetrics.Result.CANCELLED;
+            }
+            throw e;
+        } finally {
+            final boolean written = result != TransformMetrics.Result.CANCELLED && result != TransformMetrics.Result.FAILED;
+            final int bytesOut = written ? buf.readableBytes() : -1;
+            metrics.record(protocolInfo.getPipeline(), direction, state, id, bytesIn, bytesOut, System.nanoTime() - start, result);
+        }
+    }
+
+    private TransformMetrics.Result transformPacket(ByteBuf buf, Direction direction, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        if (!buf.isReadable()) return TransformMetrics.Result.TRANSFORMED;
 
         int id = Type.VAR_INT.readPrimitive(buf);
         if (id == PacketWrapper.PASSTHROUGH_ID) {
-            if (!passthroughTokens.remove(Type.UUID.read(buf))) {
+            final Set<UUID> passthroughTokens = this.passthroughTokens;
+            if (passthroughTokens == null || !passthroughTokens.remove(Type.UUID.read(buf))) {
                 throw new IllegalArgumentException("Invalid token");
             }
-            return;
+            return TransformMetrics.Result.TRANSFORMED;
         }
 
-        PacketWrapper wrapper = new PacketWrapperImpl(id, buf, this);
         State state = protocolInfo.getState(direction);
-        try {
-            protocolInfo.getPipeline().transform(direction, state, wrapper);
-        } catch (CancelException ex) {
-            throw cancelSupplier.apply(ex);
+        if (direction == Direction.SERVERBOUND && state == State.PLAY && packetLimiterEnabled
+                && packetTracker.exceedsPacketLimits(protocolInfo.getPipeline(), id)) {
+            // Drop before doing any transformation work
+            throw cancelSupplier.apply(null);
+        }
+
+        int mappedId = protocolInfo.getPipeline().mappedIdWithoutHandlers(direction, state, id);
+        if (mappedId != -1 && rewriteId(buf, mappedId)) {
+            // No need to create a wrapper if only the id changes
+            return TransformMetrics.Result.ID_REWRITTEN;
+        }
+
+        SharedPacketCache.Key cacheKey = null;
+        byte[] contents = null;
+        final SharedPacketCache cache = direction == Direction.CLIENTBOUND ? SharedPacketCache.get() : null;
+        if (cache != null && protocolInfo.getPipeline().isTransformCacheable(direction, state, id)) {
+            cacheKey = cache.key(protocolInfo.getPipeline().reversedPipes(), state, id, buf);
+            final byte[] transformed = cache.transformed(cacheKey, buf);
+            if (transformed != null) {
+                buf.clear().writeBytes(transformed);
+                return TransformMetrics.Result.CACHED;
+            }
+
+            // Handlers may modify the input buffer, so keep a copy of the original contents
+            contents = readableBytes(buf);
         }
 
-        ByteBuf transformed = buf.alloc().buffer();
+        final boolean reuseWrapper = Via.getConfig().reusePacketWrappers();
+        PacketWrapperImpl wrapper = reuseWrapper ? reusableWrapper(direction, id, buf) : new PacketWrapperImpl(id, buf, this);
         try {
-            wrapper.writeToBuffer(transformed);
-            buf.clear().writeBytes(transformed);
+            try {
+                protocolInfo.getPipeline().transform(direction, state, wrapper);
+            } catch (CancelException ex) {
+                throw cancelSupplier.apply(ex);
+            }
+
+            ByteBuf transformed = buf.alloc().buffer();
+            try {
+                // Untouched remaining bytes are still in the input buffer, only write the transformed head
+                wrapper.writeToBuffer(transformed, false);
+                writeInPlace(buf, transformed);
+            } finally {
+                transformed.release();
+            }
+
+            if (cacheKey != null && protocolInfo.getState(direction) == state) {
+                cache.put(cacheKey, contents, readableBytes(buf));
+            }
+            return TransformMetrics.Result.TRANSFORMED;
         } finally {
-            transformed.release();
+            if (reuseWrapper) {
+                releaseWrapper(direction, wrapper);
+            }
+        }
+    }
+
+    private PacketWrapperImpl reusableWrapper(final Direction direction, final int id, final ByteBuf buf) {
+        final PacketWrapperImpl wrapper = reusableWrappers[direction.ordinal()];
+        if (wrapper == null) {
+            // Either not created yet or currently in use by a nested transformation
+            return new PacketWrapperImpl(id, buf, this);
+        }
+
+        reusableWrappers[direction.ordinal()] = null;
+        wrapper.reuse(id, buf);
+        return wrapper;
+    }
+
+    private void releaseWrapper(final Direction direction, final PacketWrapperImpl wrapper) {
+        if (wrapper.release()) {
+            reusableWrappers[direction.ordinal()] = wrapper;
+        } else if (Via.getManager().debugHandler().enabled()) {
+            Via.getPlatform().getLogger().warning("Packet wrapper retained past its transformation, not reusing it: " + wrapper);
+        }
+    }
+
+    /**
+     * Writes the packet id in front of the packet contents, starting at the buffer's reader index.
+     *
+     * @param buf      buffer with the packet contents as its remaining unread bytes
+     * @param mappedId mapped packet id
+     * @return whether the id could be written in place
+     */
+    private static boolean rewriteId(final ByteBuf buf, final int mappedId) {
+        final int contentStart = buf.readerIndex();
+        final int start = contentStart - VarIntType.varIntLength(mappedId);
+        if (start < 0) {
+            return false;
+        }
+
+        final int writerIndex = buf.writerIndex();
+        buf.setIndex(start, start);
+        Type.VAR_INT.writePrimitive(buf, mappedId);
+        buf.writerIndex(writerIndex);
+        return true;
+    }
+
+    private static byte[] readableBytes(final ByteBuf buf) {
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes the transformed head in front of the remaining unread bytes of the buffer.
+     * The remaining bytes are only copied if the head does not fit into the already read part of the buffer.
+     *
+     * @param buf         buffer with the packet's remaining unread bytes
+     * @param transformed transformed packet id and values
+     */
+    private static void writeInPlace(final ByteBuf buf, final ByteBuf transformed) {
+        final int headLength = transformed.readableBytes();
+        final int remainingStart = buf.readerIndex();
+        if (headLength <= remainingStart) {
+            final int start = remainingStart - headLength;
+            buf.setBytes(start, transformed, transformed.readerIndex(), headLength);
+            buf.readerIndex(start);
+        } else {
+            transformed.writeBytes(buf);
+            buf.clear().writeBytes(transformed);
         }
     }
 
@@ -358,7 +498,17 @@ public class UserConnectionImpl implements UserConnection {
 
     @Override
     public Map<Class<?>, StorableObject> getStoredObjects() {
-        return storedObjects;
+        return storedObjects.asMap();
+    }
+
+    /**
+     * Returns the estimated heap size of the tables holding this connection's stored objects and entity trackers,
+     * excluding the objects themselves.
+     *
+     * @return estimated heap size in bytes
+     */
+    public long storageHeapSize() {
+        return storedObjects.heapSize() + entityTrackers.heapSize();
     }
 
     @Override
@@ -404,10 +554,25 @@ public class UserConnectionImpl implements UserConnection {
     @Override
     public UUID generatePassthroughToken() {
         UUID token = UUID.randomUUID();
-        passthroughTokens.add(token);
+        passthroughTokens().add(token);
         return token;
     }
 
+    private Set<UUID> passthroughTokens() {
+        Set<UUID> passthroughTokens = this.passthroughTokens;
+        if (passthroughTokens == null) {
+            synchronized (this) {
+                passthroughTokens = this.passthroughTokens;
+                if (passthroughTokens == null) {
+                    this.passthroughTokens = passthroughTokens = Collections.newSetFromMap(CacheBuilder.newBuilder()
+                            .expireAfterWrite(10, TimeUnit.SECONDS)
+                            .<UUID, Boolean>build().asMap());
+                }
+            }
+        }
+        return passthroughTokens;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
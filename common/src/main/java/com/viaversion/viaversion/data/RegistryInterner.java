@@ -0,0 +1,66 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.data;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Map;
+
+/**
+ * Canonicalizes registry data that is usually identical for every connection on a backend server,
+ * so that it is only held once in memory and can be compared by reference.
+ * <p>
+ * Interned values are shared between connections and must never be modified; copy them before writing them into packets.
+ * Values are weakly held and collected once no connection references them anymore.
+ */
+public final class RegistryInterner {
+
+    private static final Interner<Object> INTERNER = Interners.newWeakInterner();
+
+    private RegistryInterner() {
+    }
+
+    /**
+     * Returns the canonical instance of the given registry tag.
+     * A deep copy of the tag is interned, so the given tag may still be modified afterwards.
+     * The returned tag is shared with other connections and must only be read.
+     *
+     * @param tag registry tag
+     * @return canonical instance equal to the given tag
+     */
+    public static CompoundTag intern(final CompoundTag tag) {
+        return (CompoundTag) INTERNER.intern(tag.copy());
+    }
+
+    /**
+     * Returns the canonical immutable instance of a map with the given contents.
+     * The map itself is copied, so the given map may still be modified afterwards, but its keys and values are shared
+     * and must not be modified after being passed to this method.
+     *
+     * @param map map to intern
+     * @param <K> key type
+     * @param <V> value type
+     * @return canonical immutable map equal to the given map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> intern(final Map<K, V> map) {
+        return (Map<K, V>) INTERNER.intern(ImmutableMap.copyOf(map));
+    }
+}
@@ -55,6 +55,19 @@ public final class DimensionDataImpl implements DimensionData {
         return height;
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final DimensionDataImpl that = (DimensionDataImpl) o;
+        return minY == that.minY && height == that.height;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * minY + height;
+    }
+
     @Override
     public String toString() {
         return "DimensionData{" +
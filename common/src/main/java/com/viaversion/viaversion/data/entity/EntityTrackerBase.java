@@ -26,6 +26,7 @@ import com.viaversion.viaversion.api.data.entity.EntityTracker;
 import com.viaversion.viaversion.api.data.entity.StoredEntityData;
 import com.viaversion.viaversion.api.data.entity.TrackedEntity;
 import com.viaversion.viaversion.api.minecraft.entities.EntityType;
+import com.viaversion.viaversion.data.RegistryInterner;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import java.util.Collections;
 import java.util.Map;
@@ -176,6 +177,6 @@ public class EntityTrackerBase implements EntityTracker, ClientEntityIdChangeLis
 
     @Override
     public void setDimensions(Map<String, DimensionData> dimensions) {
-        this.dimensions = dimensions;
+        this.dimensions = RegistryInterner.intern(dimensions);
     }
 }
@@ -0,0 +1,294 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypeMap;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class TransformMetricsImpl implements TransformMetrics {
+
+    private static final int MAX_PACKET_ID = 0x100;
+    private static final int STATES = State.values().length;
+    private static final int SLOTS = Direction.values().length * STATES * MAX_PACKET_ID;
+    // The first bucket holds everything below 2^MIN_BUCKET_BITS ns, each following bucket doubles the bound
+    private static final int MIN_BUCKET_BITS = 8;
+    private static final int BUCKETS = 24;
+    private final Map<Class<? extends Protocol>, AtomicReferenceArray<Counters>> protocols = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void record(final Protocol<?, ?, ?, ?> protocol, final Direction direction, final State state, final int unmappedPacketId,
+                       final int bytesIn, final int bytesOut, final long nanos, final Result result) {
+        if (unmappedPacketId < 0 || unmappedPacketId >= MAX_PACKET_ID) {
+            return;
+        }
+
+        final Class<? extends Protocol> protocolClass = protocol.getClass();
+        AtomicReferenceArray<Counters> counters = protocols.get(protocolClass);
+        if (counters == null) {
+            counters = protocols.computeIfAbsent(protocolClass, key -> new AtomicReferenceArray<>(SLOTS));
+        }
+
+        final int index = (direction.ordinal() * STATES + state.ordinal()) * MAX_PACKET_ID + unmappedPacketId;
+        Counters entry = counters.get(index);
+        if (entry == null) {
+            entry = new Counters(protocolClass, direction, state, unmappedPacketId, packetType(protocol, direction, state, unmappedPacketId));
+            if (!counters.compareAndSet(index, null, entry)) {
+                entry = counters.get(index);
+            }
+        }
+        entry.record(bytesIn, bytesOut, nanos, result);
+    }
+
+    @Override
+    public List<Entry> entries() {
+        final List<Entry> entries = new ArrayList<>();
+        for (final AtomicReferenceArray<Counters> counters : protocols.values()) {
+            for (int i = 0; i < counters.length(); i++) {
+                final Counters entry = counters.get(i);
+                if (entry != null) {
+                    entries.add(entry.snapshot());
+                }
+            }
+        }
+
+        entries.sort((o1, o2) -> Long.compare(o2.nanos(), o1.nanos()));
+        return entries;
+    }
+
+    @Override
+    public void reset() {
+        protocols.clear();
+    }
+
+    private static @Nullable PacketType packetType(final Protocol<?, ?, ?, ?> protocol, final Direction direction, final State state, final int packetId) {
+        final PacketTypesProvider<?, ?, ?, ?> provider = protocol.getPacketTypesProvider();
+        final Map<State, ? extends PacketTypeMap<?>> packetTypes = direction == Direction.CLIENTBOUND
+                ? provider.unmappedClientboundPacketTypes() : provider.unmappedServerboundPacketTypes();
+        final PacketTypeMap<?> packetTypeMap = packetTypes.get(state);
+        return packetTypeMap != null ? packetTypeMap.typeById(packetId) : null;
+    }
+
+    private static int bucket(final long nanos) {
+        final int bits = 64 - Long.numberOfLeadingZeros(nanos);
+        return Math.min(Math.max(bits - MIN_BUCKET_BITS, 0), BUCKETS - 1);
+    }
+
+    /**
+     * Live counters of an entry, updated concurrently from the event loops.
+     */
+    private static final class Counters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder idRewritten = new LongAdder();
+        private final LongAdder cached = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+        private final Class<? extends Protocol> protocolClass;
+        private final Direction direction;
+        private final State state;
+        private final int packetId;
+        private final PacketType packetType;
+
+        private Counters(final Class<? extends Protocol> protocolClass, final Direction direction, final State state,
+                         final int packetId, @Nullable final PacketType packetType) {
+            this.protocolClass = protocolClass;
+            this.direction = direction;
+            this.state = state;
+            this.packetId = packetId;
+            this.packetType = packetType;
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void record(final int bytesIn, final int bytesOut, final long nanos, final Result result) {
+            count.increment();
+            if (result == Result.CANCELLED) {
+                cancelled.increment();
+            } else if (result == Result.FAILED) {
+                failed.increment();
+            } else if (result == Result.ID_REWRITTEN) {
+                idRewritten.increment();
+            } else if (result == Result.CACHED) {
+                cached.increment();
+            }
+            if (bytesIn != -1) {
+                this.bytesIn.add(bytesIn);
+            }
+            if (bytesOut != -1) {
+                this.bytesOut.add(bytesOut);
+            }
+            this.nanos.add(nanos);
+            histogram[bucket(nanos)].increment();
+        }
+
+        private Snapshot snapshot() {
+            final long[] histogram = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = this.histogram[i].sum();
+            }
+            return new Snapshot(protocolClass, direction, state, packetId, packetType, count.sum(), cancelled.sum(), failed.sum(),
+                    idRewritten.sum(), cached.sum(), bytesIn.sum(), bytesOut.sum(), nanos.sum(), histogram);
+        }
+    }
+
+    private static final class Snapshot implements Entry {
+        private final Class<? extends Protocol> protocolClass;
+        private final Direction direction;
+        private final State state;
+        private final int packetId;
+        private final PacketType packetType;
+        private final long count;
+        private final long cancelled;
+        private final long failed;
+        private final long idRewritten;
+        private final long cached;
+        private final long bytesIn;
+        private final long bytesOut;
+        private final long nanos;
+        private final long[] histogram;
+
+        private Snapshot(final Class<? extends Protocol> protocolClass, final Direction direction, final State state, final int packetId,
+                         @Nullable final PacketType packetType, final long count, final long cancelled, final long failed,
+                         final long idRewritten, final long cached, final long bytesIn, final long bytesOut, final long nanos, final long[] histogram) {
+            this.protocolClass = protocolClass;
+            this.direction = direction;
+            this.state = state;
+            this.packetId = packetId;
+            this.packetType = packetType;
+            this.count = count;
+            this.cancelled = cancelled;
+            this.failed = failed;
+            this.idRewritten = idRewritten;
+            this.cached = cached;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.nanos = nanos;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public Class<? extends Protocol> protocolClass() {
+            return protocolClass;
+        }
+
+        @Override
+        public Direction direction() {
+            return direction;
+        }
+
+        @Override
+        public State state() {
+            return state;
+        }
+
+        @Override
+        public int packetId() {
+            return packetId;
+        }
+
+        @Override
+        public @Nullable PacketType packetType() {
+            return packetType;
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public long cancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public long failed() {
+            return failed;
+        }
+
+        @Override
+        public long idRewritten() {
+            return idRewritten;
+        }
+
+        @Override
+        public long cached() {
+            return cached;
+        }
+
+        @Override
+        public long bytesIn() {
+            return bytesIn;
+        }
+
+        @Override
+        public long bytesOut() {
+            return bytesOut;
+        }
+
+        @Override
+        public long nanos() {
+            return nanos;
+        }
+
+        @Override
+        public long percentileNanos(final double percentile) {
+            long total = 0;
+            for (final long value : histogram) {
+                total += value;
+            }
+
+            final long target = Math.max(1, (long) Math.ceil(percentile * total));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += histogram[i];
+                if (cumulative >= target) {
+                    return 1L << (MIN_BUCKET_BITS + i);
+                }
+            }
+            return 1L << (MIN_BUCKET_BITS + BUCKETS - 1);
+        }
+    }
+}
@@ -26,13 +26,17 @@ public class DumpTemplate {
     private final JsonObject platformDump;
     private final JsonObject injectionDump;
     private final JsonObject playerSample;
+    private final JsonObject mappingData;
+    private final JsonObject transformMetrics;
 
-    public DumpTemplate(VersionInfo versionInfo, Map<String, Object> configuration, JsonObject platformDump, JsonObject injectionDump, JsonObject playerSample) {
+    public DumpTemplate(VersionInfo versionInfo, Map<String, Object> configuration, JsonObject platformDump, JsonObject injectionDump, JsonObject playerSample, JsonObject mappingData, JsonObject transformMetrics) {
         this.versionInfo = versionInfo;
         this.configuration = configuration;
         this.platformDump = platformDump;
         this.injectionDump = injectionDump;
         this.playerSample = playerSample;
+        this.mappingData = mappingData;
+        this.transformMetrics = transformMetrics;
     }
 
     public VersionInfo getVersionInfo() {
@@ -54,4 +58,12 @@ public class DumpTemplate {
     public JsonObject getPlayerSample() {
         return playerSample;
     }
+
+    public JsonObject getMappingData() {
+        return mappingData;
+    }
+
+    public JsonObject getTransformMetrics() {
+        return transformMetrics;
+    }
 }
@@ -26,6 +26,8 @@ import com.viaversion.viaversion.api.legacy.bossbar.BossColor;
 import com.viaversion.viaversion.api.legacy.bossbar.BossFlag;
 import com.viaversion.viaversion.api.legacy.bossbar.BossStyle;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.VersionedPacketTransformer;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.protocols.protocol1_9to1_8.ClientboundPackets1_9;
 import com.viaversion.viaversion.protocols.protocol1_9to1_8.Protocol1_9To1_8;
@@ -33,12 +35,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 
 public class CommonBoss implements BossBar {
+    private static final VersionedPacketTransformer<ClientboundPackets1_9, ?> PACKET_TRANSFORMER =
+            Via.getManager().getProtocolManager().createPacketTransformer(ProtocolVersion.v1_9, ClientboundPackets1_9.class, null);
     private final UUID uuid;
     private final Map<UUID, UserConnection> connections;
     private final Set<BossFlag> flags;
@@ -220,15 +225,26 @@ public class CommonBoss implements BossBar {
     }
 
     private void sendPacket(UpdateAction action) {
+        List<UserConnection> receivers = new ArrayList<>(connections.size());
         for (UserConnection conn : new ArrayList<>(connections.values())) {
-            PacketWrapper wrapper = getPacket(action, conn);
-            sendPacketConnection(conn, wrapper);
+            if (conn.getProtocolInfo() == null || !conn.getProtocolInfo().getPipeline().contains(Protocol1_9To1_8.class)) {
+                connections.values().remove(conn);
+                continue;
+            }
+            receivers.add(conn);
+        }
+
+        try {
+            // Transformed on the connections' event loops, once per client version if the handlers are cacheable
+            PACKET_TRANSFORMER.broadcast(receivers, ClientboundPackets1_9.BOSSBAR, wrapper -> writePacket(action, wrapper));
+        } catch (Exception e) {
+            Via.getPlatform().getLogger().log(Level.WARNING, "Failed to send bossbar packet", e);
         }
     }
 
     private void sendPacketConnection(UserConnection conn, PacketWrapper wrapper) {
         if (conn.getProtocolInfo() == null || !conn.getProtocolInfo().getPipeline().contains(Protocol1_9To1_8.class)) {
-            connections.remove(conn.getProtocolInfo().getUuid());
+            connections.values().remove(conn);
             return;
         }
         try {
@@ -239,8 +255,13 @@ public class CommonBoss implements BossBar {
     }
 
     private PacketWrapper getPacket(UpdateAction action, UserConnection connection) {
+        PacketWrapper wrapper = PacketWrapper.create(ClientboundPackets1_9.BOSSBAR, null, connection);
+        writePacket(action, wrapper);
+        return wrapper;
+    }
+
+    private void writePacket(UpdateAction action, PacketWrapper wrapper) {
         try {
-            PacketWrapper wrapper = PacketWrapper.create(ClientboundPackets1_9.BOSSBAR, null, connection);
             wrapper.write(Type.UUID, uuid);
             wrapper.write(Type.VAR_INT, action.getId());
             switch (action) {
@@ -267,12 +288,9 @@ public class CommonBoss implements BossBar {
                     wrapper.write(Type.BYTE, (byte) flagToBytes());
                     break;
             }
-
-            return wrapper;
         } catch (Exception e) {
             Via.getPlatform().getLogger().log(Level.WARNING, "Failed to create bossbar packet", e);
         }
-        return null;
     }
 
     private int flagToBytes() {
@@ -0,0 +1,196 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMapping;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packet mappings of a pipeline's protocols that apply to a single packet, compiled for its direction, state, and id.
+ * Protocols without a mapping for the packet are skipped entirely.
+ * <p>
+ * Mappings to packet types of another state are followed, so later protocols are compiled for the mapped state.
+ * If a packet handler changes the packet id or state, the remaining protocols are applied as usual.
+ */
+final class PacketChain {
+    private final AbstractProtocol<?, ?, ?, ?>[] protocols;
+    private final PacketMapping[] mappings;
+    private final int[] unmappedIds;
+    private final State[] states;
+    private final int[] protocolIndexes;
+    private final int tailIndex;
+    private final int tailId;
+    private final State tailState;
+    private final boolean complete;
+    private final boolean hasHandlers;
+    private final boolean cacheableHandlers;
+
+    private PacketChain(final AbstractProtocol<?, ?, ?, ?>[] protocols, final PacketMapping[] mappings, final int[] unmappedIds,
+                        final State[] states, final int[] protocolIndexes, final int tailIndex, final int tailId,
+                        final State tailState, final boolean complete, final boolean hasHandlers, final boolean cacheableHandlers) {
+        this.protocols = protocols;
+        this.mappings = mappings;
+        this.unmappedIds = unmappedIds;
+        this.states = states;
+        this.protocolIndexes = protocolIndexes;
+        this.tailIndex = tailIndex;
+        this.tailId = tailId;
+        this.tailState = tailState;
+        this.complete = complete;
+        this.hasHandlers = hasHandlers;
+        this.cacheableHandlers = cacheableHandlers;
+    }
+
+    /**
+     * Compiles the chain of packet mappings for the given packet.
+     * Compilation stops at the first protocol that is not transformed through its packet mappings only.
+     *
+     * @param pipeline   protocols in the order they are applied in
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return compiled packet chain
+     */
+    static PacketChain compile(final Protocol[] pipeline, final Direction direction, final State state, final int unmappedId) {
+        final List<AbstractProtocol<?, ?, ?, ?>> protocols = new ArrayList<>();
+        final List<PacketMapping> mappings = new ArrayList<>();
+        final List<Integer> unmappedIds = new ArrayList<>();
+        final List<State> states = new ArrayList<>();
+        final List<Integer> protocolIndexes = new ArrayList<>();
+        boolean hasHandlers = false;
+        boolean cacheableHandlers = direction == Direction.CLIENTBOUND;
+        int tailIndex = pipeline.length;
+        int id = unmappedId;
+        State mappedState = state;
+        for (int i = 0; i < pipeline.length; i++) {
+            final Protocol protocol = pipeline[i];
+            if (!(protocol instanceof AbstractProtocol)
+                    || !((AbstractProtocol<?, ?, ?, ?>) protocol).transformsByMappingsOnly(direction, mappedState)) {
+                tailIndex = i;
+                break;
+            }
+
+            final AbstractProtocol<?, ?, ?, ?> abstractProtocol = (AbstractProtocol<?, ?, ?, ?>) protocol;
+            final PacketMapping mapping = abstractProtocol.packetMapping(direction, mappedState, id);
+            if (mapping == null) {
+                continue;
+            }
+
+            protocols.add(abstractProtocol);
+            mappings.add(mapping);
+            unmappedIds.add(id);
+            states.add(mappedState);
+            protocolIndexes.add(i);
+            if (mapping.handler() != null) {
+                hasHandlers = true;
+                cacheableHandlers &= abstractProtocol.isClientboundCacheable(mapping);
+            }
+            id = mapping.mappedPacketId(id);
+            mappedState = mapping.mappedState(mappedState);
+        }
+
+        return new PacketChain(
+                protocols.toArray(new AbstractProtocol[0]),
+                mappings.toArray(new PacketMapping[0]),
+                unmappedIds.stream().mapToInt(Integer::intValue).toArray(),
+                states.toArray(new State[0]),
+                protocolIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                tailIndex,
+                id,
+                mappedState,
+                tailIndex == pipeline.length,
+                hasHandlers,
+                cacheableHandlers
+        );
+    }
+
+    /**
+     * Applies the compiled packet mappings to the packet, followed by the remaining protocols that could not be compiled.
+     *
+     * @param pipeline  protocols the chain has been compiled from
+     * @param direction packet direction
+     * @param state     protocol state
+     * @param wrapper   packet wrapper
+     * @throws Exception if transforming the packet fails
+     */
+    void apply(final Protocol[] pipeline, final Direction direction, final State state, final PacketWrapper wrapper) throws Exception {
+        final TransformMetrics metrics = Via.getManager().transformMetrics();
+        State updatedState = state;
+        int nextIndex = 0;
+        for (int i = 0; i < protocols.length; i++) {
+            if (updatedState != states[i] || wrapper.getId() != unmappedIds[i]) {
+                // Changed by a handler, so the compiled mappings no longer apply
+                wrapper.apply(direction, updatedState, nextIndex, Arrays.asList(pipeline));
+                return;
+            }
+
+            protocols[i].transform(direction, states[i], wrapper, mappings[i], metrics);
+            wrapper.resetReader();
+
+            final PacketType packetType = wrapper.getPacketType();
+            if (packetType != null) {
+                updatedState = packetType.state();
+            }
+            nextIndex = protocolIndexes[i] + 1;
+        }
+
+        if (updatedState != tailState || wrapper.getId() != tailId) {
+            wrapper.apply(direction, updatedState, nextIndex, Arrays.asList(pipeline));
+        } else if (tailIndex < pipeline.length) {
+            wrapper.apply(direction, updatedState, tailIndex, Arrays.asList(pipeline));
+        }
+    }
+
+    /**
+     * Returns whether the chain covers the whole pipeline and only changes the packet id.
+     *
+     * @return whether the chain only changes the packet id
+     */
+    boolean idOnly() {
+        return complete && !hasHandlers && tailId >= 0;
+    }
+
+    /**
+     * Returns whether the chain covers the whole pipeline and all of its packet handlers have been marked as
+     * cacheable, meaning the transformed packet only depends on the input bytes.
+     *
+     * @return whether the transformed packet may be shared between connections with the same pipeline
+     */
+    boolean cacheable() {
+        return complete && hasHandlers && cacheableHandlers && tailId >= 0;
+    }
+
+    /**
+     * Returns the packet id after applying the compiled mappings.
+     *
+     * @return mapped packet id, or -1 if no id is written
+     */
+    int mappedId() {
+        return tailId;
+    }
+}
@@ -78,10 +78,9 @@ import com.viaversion.viaversion.protocols.protocol1_9_3to1_9_1_2.Protocol1_9_3T
 import com.viaversion.viaversion.protocols.protocol1_9to1_8.Protocol1_9To1_8;
 import com.viaversion.viaversion.util.Pair;
 import io.netty.buffer.ByteBuf;
-import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -94,7 +93,6 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -111,8 +109,11 @@ public class ProtocolManagerImpl implements ProtocolManager {
 
     // Input Version -> Output Version & Protocol (Allows fast lookup)
     private final Int2ObjectMap<Int2ObjectMap<Protocol>> registryMap = new Int2ObjectOpenHashMap<>(32);
+    // Output Version -> Input Version & Protocol (Used to search paths backwards from the server version)
+    private final Int2ObjectMap<Int2ObjectMap<Protocol>> reverseRegistryMap = new Int2ObjectOpenHashMap<>(32);
     private final Map<Class<? extends Protocol>, Protocol<?, ?, ?, ?>> protocols = new HashMap<>(64);
-    private final Map<ProtocolPathKey, List<ProtocolPathEntry>> pathCache = new ConcurrentHashMap<>();
+    // Server Version -> Client Version -> Shortest protocol path, replaced as a whole when a server version is added
+    private volatile Int2ObjectMap<Int2ObjectMap<List<ProtocolPathEntry>>> pathTable = new Int2ObjectOpenHashMap<>();
     private final Set<Integer> supportedVersions = new HashSet<>();
     private final List<Pair<Range<Integer>, Protocol>> baseProtocols = Lists.newCopyOnWriteArrayList();
 
@@ -197,9 +198,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
         protocol.initialize();
 
         // Clear cache as this may make new routes.
-        if (!pathCache.isEmpty()) {
-            pathCache.clear();
-        }
+        clearPathTable();
 
         protocols.put(protocol.getClass(), protocol);
 
@@ -209,6 +208,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
 
             Int2ObjectMap<Protocol> protocolMap = registryMap.computeIfAbsent(clientVersion, s -> new Int2ObjectOpenHashMap<>(2));
             protocolMap.put(serverVersion, protocol);
+            reverseRegistryMap.computeIfAbsent(serverVersion, s -> new Int2ObjectOpenHashMap<>(2)).put(clientVersion, protocol);
         }
 
         protocol.register(Via.getManager().getProviders());
@@ -258,25 +258,11 @@ public class ProtocolManagerImpl implements ProtocolManager {
     public @Nullable List<ProtocolPathEntry> getProtocolPath(int clientVersion, int serverVersion) {
         if (clientVersion == serverVersion) return null; // Nothing to do!
 
-        // Check cache
-        ProtocolPathKey protocolKey = new ProtocolPathKeyImpl(clientVersion, serverVersion);
-        List<ProtocolPathEntry> protocolList = pathCache.get(protocolKey);
-        if (protocolList != null) {
-            return protocolList;
-        }
-
-        // Calculate path
-        Int2ObjectSortedMap<Protocol> outputPath = getProtocolPath(new Int2ObjectLinkedOpenHashMap<>(), clientVersion, serverVersion);
-        if (outputPath == null) {
-            return null;
-        }
-
-        List<ProtocolPathEntry> path = new ArrayList<>(outputPath.size());
-        for (Int2ObjectMap.Entry<Protocol> entry : outputPath.int2ObjectEntrySet()) {
-            path.add(new ProtocolPathEntryImpl(entry.getIntKey(), entry.getValue()));
+        Int2ObjectMap<List<ProtocolPathEntry>> paths = pathTable.get(serverVersion);
+        if (paths == null) {
+            paths = computeProtocolPaths(serverVersion);
         }
-        pathCache.put(protocolKey, path);
-        return path;
+        return paths.get(clientVersion);
     }
 
     @Override
@@ -290,53 +276,59 @@ public class ProtocolManagerImpl implements ProtocolManager {
     }
 
     /**
-     * Calculates a path to get from an input protocol to the server's protocol.
+     * Calculates the shortest paths from all client versions to the given server version and adds them to the path table.
      *
-     * @param current       current items in the path
-     * @param clientVersion current input version
      * @param serverVersion desired output version
-     * @return path that has been generated, null if failed
+     * @return paths by client version
      */
-    private @Nullable Int2ObjectSortedMap<Protocol> getProtocolPath(Int2ObjectSortedMap<Protocol> current, int clientVersion, int serverVersion) {
-        if (current.size() > maxProtocolPathSize) return null; // Fail-safe, protocol too complicated.
-
-        // First, check if there is any protocols for this
-        Int2ObjectMap<Protocol> toServerProtocolMap = registryMap.get(clientVersion);
-        if (toServerProtocolMap == null) {
-            return null; // Not supported
-        }
-
-        // Next, check if there is a direct, single Protocol path
-        Protocol protocol = toServerProtocolMap.get(serverVersion);
-        if (protocol != null) {
-            current.put(serverVersion, protocol);
-            return current; // Easy solution
+    private synchronized Int2ObjectMap<List<ProtocolPathEntry>> computeProtocolPaths(int serverVersion) {
+        Int2ObjectMap<List<ProtocolPathEntry>> paths = pathTable.get(serverVersion);
+        if (paths != null) {
+            return paths; // Computed while waiting for the lock
         }
 
-        // There might be a more advanced solution... So we'll see if any of the others can get us there
-        Int2ObjectSortedMap<Protocol> shortest = null;
-        for (Int2ObjectMap.Entry<Protocol> entry : toServerProtocolMap.int2ObjectEntrySet()) {
-            // Ensure we don't go back to already contained versions
-            int translatedToVersion = entry.getIntKey();
-            if (current.containsKey(translatedToVersion)) continue;
-
-            // Check if the new version is farther away than the current client version
-            if (maxPathDeltaIncrease != -1 && Math.abs(serverVersion - translatedToVersion) - Math.abs(serverVersion - clientVersion) > maxPathDeltaIncrease) {
-                continue;
-            }
-
-            // Create a copy
-            Int2ObjectSortedMap<Protocol> newCurrent = new Int2ObjectLinkedOpenHashMap<>(current);
-            newCurrent.put(translatedToVersion, entry.getValue());
+        // Breadth-first search backwards from the server version, so every version is first reached through a shortest path
+        paths = new Int2ObjectOpenHashMap<>();
+        IntArrayList queue = new IntArrayList();
+        queue.add(serverVersion);
+        for (int i = 0; i < queue.size(); i++) {
+            int outputVersion = queue.getInt(i);
+            List<ProtocolPathEntry> outputPath = paths.get(outputVersion); // null for the server version itself
+            // Fail-safe, protocol too complicated. Like the former recursive search, paths may still grow to one entry above the maximum
+            if (outputPath != null && outputPath.size() > maxProtocolPathSize) continue;
+
+            Int2ObjectMap<Protocol> fromClientProtocolMap = reverseRegistryMap.get(outputVersion);
+            if (fromClientProtocolMap == null) continue;
+
+            for (Int2ObjectMap.Entry<Protocol> entry : fromClientProtocolMap.int2ObjectEntrySet()) {
+                // Ensure we don't go back to already reached versions
+                int inputVersion = entry.getIntKey();
+                if (inputVersion == serverVersion || paths.containsKey(inputVersion)) continue;
+
+                // Check if the new version is farther away than the current client version
+                if (maxPathDeltaIncrease != -1 && Math.abs(serverVersion - outputVersion) - Math.abs(serverVersion - inputVersion) > maxPathDeltaIncrease) {
+                    continue;
+                }
 
-            // Calculate the rest of the protocol starting from translatedToVersion and take the shortest
-            newCurrent = getProtocolPath(newCurrent, translatedToVersion, serverVersion);
-            if (newCurrent != null && (shortest == null || newCurrent.size() < shortest.size())) {
-                shortest = newCurrent;
+                List<ProtocolPathEntry> path = new ArrayList<>(outputPath != null ? outputPath.size() + 1 : 1);
+                path.add(new ProtocolPathEntryImpl(outputVersion, entry.getValue()));
+                if (outputPath != null) {
+                    path.addAll(outputPath);
+                }
+                paths.put(inputVersion, path);
+                queue.add(inputVersion);
             }
         }
 
-        return shortest; // null if none found
+        // Publish a copy, so lookups never see a table that is being modified
+        Int2ObjectMap<Int2ObjectMap<List<ProtocolPathEntry>>> pathTable = new Int2ObjectOpenHashMap<>(this.pathTable);
+        pathTable.put(serverVersion, paths);
+        this.pathTable = pathTable;
+        return paths;
+    }
+
+    private synchronized void clearPathTable() {
+        pathTable = new Int2ObjectOpenHashMap<>();
     }
 
     @Override
@@ -396,6 +388,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
     @Override
     public void setMaxPathDeltaIncrease(final int maxPathDeltaIncrease) {
         this.maxPathDeltaIncrease = Math.max(-1, maxPathDeltaIncrease);
+        clearPathTable();
     }
 
     @Override
@@ -411,6 +404,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
     @Override
     public void setMaxProtocolPathSize(int maxProtocolPathSize) {
         this.maxProtocolPathSize = maxProtocolPathSize;
+        clearPathTable();
     }
 
     @Override
@@ -27,16 +27,20 @@ import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements ProtocolPipeline {
+    private static final Protocol[] PROTOCOL_ARRAY = new Protocol[0];
+    private static final int MAX_COMPILED_PACKET_ID = 0x100;
     private final UserConnection userConnection;
     /**
      * Protocol list ordered from client to server transformation with the base protocols at the end.
@@ -44,6 +48,7 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
     private final List<Protocol> protocolList = new CopyOnWriteArrayList<>();
     private final Set<Class<? extends Protocol>> protocolSet = new HashSet<>();
     private List<Protocol> reversedProtocolList = new CopyOnWriteArrayList<>();
+    private volatile PacketChains packetChains;
     private int baseProtocols;
 
     public ProtocolPipelineImpl(UserConnection userConnection) {
@@ -60,6 +65,7 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         reversedProtocolList.add(baseProtocol);
         protocolSet.add(baseProtocol.getClass());
         baseProtocols++;
+        invalidatePacketChains();
     }
 
     @Override
@@ -81,6 +87,7 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
 
         protocolSet.add(protocol.getClass());
         protocol.init(userConnection);
+        invalidatePacketChains();
     }
 
     @Override
@@ -92,6 +99,7 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         }
 
         refreshReversedList();
+        invalidatePacketChains();
     }
 
     private synchronized void refreshReversedList() {
@@ -112,8 +120,14 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
             logPacket(direction, state, packetWrapper, originalID);
         }
 
-        // Apply protocols
-        packetWrapper.apply(direction, state, 0, protocolListFor(direction));
+        // Apply protocols, using the compiled chain of the protocols' packet mappings if possible
+        final PacketChains packetChains = this.packetChains;
+        final PacketChain chain = packetChain(packetChains, direction, state, originalID);
+        if (chain != null) {
+            chain.apply(packetChains.pipeline(direction), direction, state, packetWrapper);
+        } else {
+            packetWrapper.apply(direction, state, 0, protocolListFor(direction));
+        }
         super.transform(direction, state, packetWrapper);
 
         if (debug && debugHandler.logPostPacketTransform() && debugHandler.shouldLog(packetWrapper, direction)) {
@@ -121,6 +135,74 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         }
     }
 
+    @Override
+    public int mappedIdWithoutHandlers(final Direction direction, final State state, final int unmappedId) {
+        if (Via.getManager().debugHandler().enabled()) {
+            return -1;
+        }
+
+        final PacketChain chain = packetChain(packetChains, direction, state, unmappedId);
+        return chain != null && chain.idOnly() ? chain.mappedId() : -1;
+    }
+
+    @Override
+    public boolean isTransformCacheable(final Direction direction, final State state, final int unmappedId) {
+        if (Via.getManager().debugHandler().enabled()) {
+            return false;
+        }
+
+        final PacketChain chain = packetChain(packetChains, direction, state, unmappedId);
+        return chain != null && chain.cacheable();
+    }
+
+    /**
+     * Returns whether the given packet only has cacheable packet handlers or none at all when applying the given protocols,
+     * meaning the transformed packet may be shared between connections using the same protocols.
+     *
+     * @param protocols  protocols in the order they are applied in
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return whether the transformed packet may be shared between connections
+     */
+    public static boolean isTransformCacheable(final Protocol[] protocols, final Direction direction, final State state, final int unmappedId) {
+        if (Via.getManager().debugHandler().enabled()) {
+            return false;
+        }
+
+        final PacketChain chain = PacketChain.compile(protocols, direction, state, unmappedId);
+        return chain.idOnly() || chain.cacheable();
+    }
+
+    private @Nullable PacketChain packetChain(final PacketChains packetChains, final Direction direction, final State state, final int unmappedId) {
+        if (unmappedId < 0 || unmappedId >= MAX_COMPILED_PACKET_ID) {
+            return null;
+        }
+
+        // Published arrays are never modified, since the pipeline may also be used outside the event loop
+        final int index = packetChains.index(direction, state);
+        final PacketChain[] chains = packetChains.chains.get(index);
+        PacketChain chain = chains != null && unmappedId < chains.length ? chains[unmappedId] : null;
+        if (chain == null) {
+            chain = PacketChain.compile(packetChains.pipeline(direction), direction, state, unmappedId);
+
+            final PacketChain[] updatedChains;
+            if (chains == null) {
+                updatedChains = new PacketChain[Math.max(unmappedId + 1, 64)];
+            } else {
+                updatedChains = Arrays.copyOf(chains, Math.max(chains.length, Math.min(unmappedId + 32, MAX_COMPILED_PACKET_ID)));
+            }
+            updatedChains[unmappedId] = chain;
+            // Chains compiled concurrently by another thread may be lost here, they will simply be compiled again
+            packetChains.chains.set(index, updatedChains);
+        }
+        return chain;
+    }
+
+    private void invalidatePacketChains() {
+        packetChains = new PacketChains(protocolList.toArray(PROTOCOL_ARRAY), reversedProtocolList.toArray(PROTOCOL_ARRAY));
+    }
+
     private List<Protocol> protocolListFor(final Direction direction) {
         return direction == Direction.SERVERBOUND ? protocolList : reversedProtocolList;
     }
@@ -193,4 +275,26 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
                 "protocolList=" + protocolList +
                 '}';
     }
+
+    /**
+     * Packet chains by direction, state, and unmapped packet id, compiled from a snapshot of the protocol lists.
+     */
+    private static final class PacketChains {
+        private final AtomicReferenceArray<PacketChain[]> chains = new AtomicReferenceArray<>(Direction.values().length * State.values().length);
+        private final Protocol[] serverboundPipeline;
+        private final Protocol[] clientboundPipeline;
+
+        private PacketChains(final Protocol[] serverboundPipeline, final Protocol[] clientboundPipeline) {
+            this.serverboundPipeline = serverboundPipeline;
+            this.clientboundPipeline = clientboundPipeline;
+        }
+
+        private int index(final Direction direction, final State state) {
+            return direction.ordinal() * State.values().length + state.ordinal();
+        }
+
+        private Protocol[] pipeline(final Direction direction) {
+            return direction == Direction.SERVERBOUND ? serverboundPipeline : clientboundPipeline;
+        }
+    }
 }
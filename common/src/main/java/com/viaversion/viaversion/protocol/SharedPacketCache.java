@@ -0,0 +1,167 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Size-bounded cache of transformed packets shared between connections, keyed by the clientbound pipeline,
+ * state, packet id, and packet contents.
+ * <p>
+ * Only packets whose handlers have all been marked as cacheable are stored, as their transformed bytes solely depend
+ * on their input bytes and the protocols they pass through.
+ *
+ * @see com.viaversion.viaversion.api.protocol.Protocol#setClientboundCacheable(State, int, boolean)
+ */
+public final class SharedPacketCache {
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static volatile SharedPacketCache instance;
+    private final Cache<Key, CachedPacket> cache;
+    private final int maxMegabytes;
+
+    private SharedPacketCache(final int maxMegabytes) {
+        this.maxMegabytes = maxMegabytes;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight((long) maxMegabytes * BYTES_PER_MEGABYTE)
+                .weigher((Key key, CachedPacket packet) -> packet.input.length + packet.output.length)
+                .build();
+    }
+
+    /**
+     * Returns the shared packet cache with the configured size.
+     *
+     * @return shared packet cache, or null if disabled
+     */
+    public static @Nullable SharedPacketCache get() {
+        final int maxMegabytes = Via.getConfig().sharedPacketCacheSize();
+        if (maxMegabytes <= 0) {
+            if (instance != null) {
+                // Disabled on reload, release the cached packets
+                instance = null;
+            }
+            return null;
+        }
+
+        SharedPacketCache cache = instance;
+        if (cache == null || cache.maxMegabytes != maxMegabytes) {
+            synchronized (SharedPacketCache.class) {
+                cache = instance;
+                if (cache == null || cache.maxMegabytes != maxMegabytes) {
+                    instance = cache = new SharedPacketCache(maxMegabytes);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the lookup key of the given packet contents.
+     *
+     * @param pipeline protocols the packet passes through, as given by the pipeline
+     * @param state    protocol state
+     * @param packetId unmapped packet id
+     * @param contents packet contents following the packet id, as its readable bytes
+     * @return lookup key of the packet
+     */
+    public Key key(final List<Protocol> pipeline, final State state, final int packetId, final ByteBuf contents) {
+        return new Key(pipeline, state, packetId, ByteBufUtil.hashCode(contents), contents.readableBytes());
+    }
+
+    /**
+     * Returns the transformed packet if the same contents have already been transformed by an identical pipeline.
+     *
+     * @param key      lookup key of the packet
+     * @param contents packet contents following the packet id, as its readable bytes
+     * @return transformed packet including the packet id, or null if not cached
+     */
+    public byte @Nullable [] transformed(final Key key, final ByteBuf contents) {
+        final CachedPacket packet = cache.getIfPresent(key);
+        if (packet == null || !ByteBufUtil.equals(contents, Unpooled.wrappedBuffer(packet.input))) {
+            return null;
+        }
+        return packet.output;
+    }
+
+    /**
+     * Stores the transformed packet for the given contents.
+     *
+     * @param key      lookup key of the packet, as returned by {@link #key(List, State, int, ByteBuf)}
+     * @param contents untransformed packet contents following the packet id
+     * @param output   transformed packet including the packet id
+     */
+    public void put(final Key key, final byte[] contents, final byte[] output) {
+        // Copy the pipeline, as the protocol list given on lookup may change
+        final Key storedKey = new Key(new ArrayList<>(key.pipeline), key.state, key.packetId, key.hash, key.length);
+        cache.put(storedKey, new CachedPacket(contents, output));
+    }
+
+    public static final class Key {
+        private final List<Protocol> pipeline;
+        private final State state;
+        private final int packetId;
+        private final int hash;
+        private final int length;
+
+        private Key(final List<Protocol> pipeline, final State state, final int packetId, final int hash, final int length) {
+            this.pipeline = pipeline;
+            this.state = state;
+            this.packetId = packetId;
+            this.hash = hash;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return packetId == key.packetId && hash == key.hash && length == key.length
+                    && state == key.state && pipeline.equals(key.pipeline);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = pipeline.hashCode();
+            result = 31 * result + state.hashCode();
+            result = 31 * result + packetId;
+            result = 31 * result + hash;
+            result = 31 * result + length;
+            return result;
+        }
+    }
+
+    private static final class CachedPacket {
+        private final byte[] input;
+        private final byte[] output;
+
+        private CachedPacket(final byte[] input, final byte[] output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol.packet;
+
+import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Packet values in parallel arrays, keeping values of primitive types unboxed.
+ * Values are appended to the end and can be removed from the front.
+ */
+final class PacketValues {
+    private static final Object PRIMITIVE = new Object();
+    private static final int DEFAULT_CAPACITY = 8;
+    private Type<?>[] types = new Type[DEFAULT_CAPACITY];
+    private Object[] values = new Object[DEFAULT_CAPACITY];
+    private long[] primitives = new long[DEFAULT_CAPACITY];
+    private int head;
+    private int tail;
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    int size() {
+        return tail - head;
+    }
+
+    Type<?> type(final int index) {
+        return types[head + index];
+    }
+
+    /**
+     * Returns the value at the given index, boxing it if it is stored as a primitive.
+     *
+     * @param index index relative to the first value
+     * @return value at the given index
+     */
+    @Nullable Object value(final int index) {
+        final int i = head + index;
+        final Object value = values[i];
+        return value == PRIMITIVE ? box(types[i], primitives[i]) : value;
+    }
+
+    boolean isPrimitive(final int index) {
+        return values[head + index] == PRIMITIVE;
+    }
+
+    long primitive(final int index) {
+        return primitives[head + index];
+    }
+
+    void add(final Type<?> type, @Nullable final Object value) {
+        if (isPrimitiveType(type) && (value instanceof Number || value instanceof Boolean)) {
+            addPrimitive(type, unbox(type, value));
+            return;
+        }
+
+        ensureCapacity();
+        types[tail] = type;
+        values[tail++] = value;
+    }
+
+    void addPrimitive(final Type<?> type, final long value) {
+        ensureCapacity();
+        types[tail] = type;
+        values[tail] = PRIMITIVE;
+        primitives[tail++] = value;
+    }
+
+    void addAll(final PacketValues other) {
+        for (int i = other.head; i < other.tail; i++) {
+            ensureCapacity();
+            types[tail] = other.types[i];
+            values[tail] = other.values[i];
+            primitives[tail++] = other.primitives[i];
+        }
+    }
+
+    void set(final int index, @Nullable final Object value) {
+        final int i = head + index;
+        final Type<?> type = types[i];
+        if (isPrimitiveType(type) && (value instanceof Number || value instanceof Boolean)) {
+            values[i] = PRIMITIVE;
+            primitives[i] = unbox(type, value);
+        } else {
+            values[i] = value;
+        }
+    }
+
+    void removeFirst() {
+        types[head] = null;
+        values[head++] = null;
+        if (head == tail) {
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(types, head, tail, null);
+        Arrays.fill(values, head, tail, null);
+        head = 0;
+        tail = 0;
+    }
+
+    /**
+     * Writes the value at the given index to the buffer.
+     *
+     * @param buffer buffer to write to
+     * @param index  index relative to the first value
+     * @throws Exception if writing the value fails
+     */
+    @SuppressWarnings("unchecked")
+    void write(final ByteBuf buffer, final int index) throws Exception {
+        final int i = head + index;
+        final Type<Object> type = (Type<Object>) types[i];
+        final Object value = values[i];
+        if (value != PRIMITIVE) {
+            type.write(buffer, value);
+            return;
+        }
+
+        final long primitive = primitives[i];
+        if (type == Type.VAR_INT) {
+            Type.VAR_INT.writePrimitive(buffer, (int) primitive);
+        } else if (type == Type.INT) {
+            buffer.writeInt((int) primitive);
+        } else if (type == Type.BOOLEAN) {
+            buffer.writeBoolean(primitive != 0);
+        } else if (type == Type.BYTE) {
+            Type.BYTE.writePrimitive(buffer, (byte) primitive);
+        } else if (type == Type.SHORT) {
+            Type.SHORT.writePrimitive(buffer, (short) primitive);
+        } else if (type == Type.LONG) {
+            Type.LONG.writePrimitive(buffer, primitive);
+        } else if (type == Type.VAR_LONG) {
+            Type.VAR_LONG.writePrimitive(buffer, primitive);
+        } else if (type == Type.FLOAT) {
+            Type.FLOAT.writePrimitive(buffer, Float.intBitsToFloat((int) primitive));
+        } else if (type == Type.DOUBLE) {
+            Type.DOUBLE.writePrimitive(buffer, Double.longBitsToDouble(primitive));
+        } else {
+            throw new IllegalStateException("Unknown primitive type " + type.getTypeName());
+        }
+    }
+
+    private void ensureCapacity() {
+        if (tail < types.length) {
+            return;
+        }
+
+        if (head != 0) {
+            // Move the values to the front before growing
+            final int size = size();
+            System.arraycopy(types, head, types, 0, size);
+            System.arraycopy(values, head, values, 0, size);
+            System.arraycopy(primitives, head, primitives, 0, size);
+            Arrays.fill(types, size, tail, null);
+            Arrays.fill(values, size, tail, null);
+            head = 0;
+            tail = size;
+            if (tail < types.length) {
+                return;
+            }
+        }
+
+        final int capacity = types.length << 1;
+        types = Arrays.copyOf(types, capacity);
+        values = Arrays.copyOf(values, capacity);
+        primitives = Arrays.copyOf(primitives, capacity);
+    }
+
+    static boolean isPrimitiveType(final Type<?> type) {
+        return type == Type.VAR_INT || type == Type.INT || type == Type.BOOLEAN
+                || type == Type.BYTE || type == Type.SHORT || type == Type.LONG
+                || type == Type.VAR_LONG || type == Type.FLOAT || type == Type.DOUBLE;
+    }
+
+    private static long unbox(final Type<?> type, final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+
+        final Number number = (Number) value;
+        if (type == Type.FLOAT) {
+            return Float.floatToRawIntBits(number.floatValue());
+        } else if (type == Type.DOUBLE) {
+            return Double.doubleToRawLongBits(number.doubleValue());
+        }
+        return number.longValue();
+    }
+
+    private static Object box(final Type<?> type, final long primitive) {
+        if (type == Type.VAR_INT || type == Type.INT) {
+            return (int) primitive;
+        } else if (type == Type.BOOLEAN) {
+            return primitive != 0;
+        } else if (type == Type.BYTE) {
+            return (byte) primitive;
+        } else if (type == Type.SHORT) {
+            return (short) primitive;
+        } else if (type == Type.FLOAT) {
+            return Float.intBitsToFloat((int) primitive);
+        } else if (type == Type.DOUBLE) {
+            return Double.longBitsToDouble(primitive);
+        }
+        return primitive;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append('{').append(type(i)).append(": ").append(value(i)).append('}');
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -35,22 +35,31 @@ import com.viaversion.viaversion.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PacketWrapperImpl implements PacketWrapper {
     private static final Protocol[] PROTOCOL_ARRAY = new Protocol[0];
 
-    private final Deque<PacketValue<?>> readableObjects = new ArrayDeque<>();
-    private final List<PacketValue<?>> packetValues = new ArrayList<>();
-    private final ByteBuf inputBuffer;
+    private PacketValues readableObjects = new PacketValues();
+    private PacketValues packetValues = new PacketValues();
+    private ByteBuf inputBuffer;
     private final UserConnection userConnection;
     private boolean send = true;
+    /**
+     * Set if the wrapper is still referenced after its transformation, e.g. by a scheduled send
+     */
+    private boolean retained;
+    /**
+     * Set while a reusable wrapper is not in use by a transformation
+     */
+    private boolean released;
+    /**
+     * Set if all input was passed through while leaving the unread remaining bytes in the input buffer
+     */
+    private boolean passedThroughRemaining;
     /**
      * Only non-null if specifically set and gotten before packet transformation
      */
@@ -70,16 +79,68 @@ public class PacketWrapperImpl implements PacketWrapper {
         this.userConnection = userConnection;
     }
 
+    /**
+     * Resets the wrapper to be reused for a new packet with the given id and input.
+     *
+     * @param packetId    packet id
+     * @param inputBuffer input buffer
+     * @see #release()
+     */
+    public void reuse(int packetId, ByteBuf inputBuffer) {
+        Preconditions.checkArgument(released && !retained, "Packet wrapper is still in use");
+        this.id = packetId;
+        this.inputBuffer = inputBuffer;
+        this.packetType = null;
+        this.send = true;
+        this.passedThroughRemaining = false;
+        this.released = false;
+        readableObjects.clear();
+        packetValues.clear();
+    }
+
+    /**
+     * Marks the wrapper as no longer in use, dropping its values and input buffer.
+     * If it is still retained by something else, it must not be reused.
+     *
+     * @return whether the wrapper can be reused
+     */
+    public boolean release() {
+        released = true;
+        if (retained) {
+            return false;
+        }
+
+        inputBuffer = null;
+        readableObjects.clear();
+        packetValues.clear();
+        return true;
+    }
+
+    /**
+     * Returns whether the wrapper is still referenced after its transformation, e.g. by a scheduled send.
+     *
+     * @return whether the wrapper is still referenced after its transformation
+     */
+    public boolean isRetained() {
+        return retained;
+    }
+
+    private void checkNotReleased() {
+        if (released && !retained) {
+            throw new IllegalStateException("Packet wrapper was used after being released, it may not be stored past its transformation: " + this);
+        }
+    }
+
     @Override
     public <T> T get(Type<T> type, int index) throws Exception {
         int currentIndex = 0;
-        for (PacketValue<?> packetValue : packetValues) {
-            if (packetValue.type() != type) {
+        for (int i = 0; i < packetValues.size(); i++) {
+            if (packetValues.type(i) != type) {
                 continue;
             }
             if (currentIndex == index) {
                 //noinspection unchecked
-                return (T) packetValue.value();
+                return (T) packetValues.value(i);
             }
             currentIndex++;
         }
@@ -89,8 +150,8 @@ public class PacketWrapperImpl implements PacketWrapper {
     @Override
     public boolean is(Type type, int index) {
         int currentIndex = 0;
-        for (PacketValue<?> packetValue : packetValues) {
-            if (packetValue.type() != type) {
+        for (int i = 0; i < packetValues.size(); i++) {
+            if (packetValues.type(i) != type) {
                 continue;
             }
             if (currentIndex == index) {
@@ -104,8 +165,8 @@ public class PacketWrapperImpl implements PacketWrapper {
     @Override
     public boolean isReadable(Type type, int index) {
         int currentIndex = 0;
-        for (PacketValue<?> packetValue : readableObjects) {
-            if (packetValue.type().getBaseClass() != type.getBaseClass()) {
+        for (int i = 0; i < readableObjects.size(); i++) {
+            if (readableObjects.type(i).getBaseClass() != type.getBaseClass()) {
                 continue;
             }
             if (currentIndex == index) {
@@ -120,12 +181,12 @@ public class PacketWrapperImpl implements PacketWrapper {
     @Override
     public <T> void set(Type<T> type, int index, T value) throws Exception {
         int currentIndex = 0;
-        for (PacketValue packetValue : packetValues) {
-            if (packetValue.type() != type) {
+        for (int i = 0; i < packetValues.size(); i++) {
+            if (packetValues.type(i) != type) {
                 continue;
             }
             if (currentIndex == index) {
-                packetValue.setValue(attemptTransform(type, value));
+                packetValues.set(i, attemptTransform(type, value));
                 return;
             }
             currentIndex++;
@@ -145,21 +206,72 @@ public class PacketWrapperImpl implements PacketWrapper {
             }
         }
 
-        PacketValue readValue = readableObjects.poll();
-        Type<?> readType = readValue.type();
+        final Type<?> readType = readableObjects.type(0);
+        final Object value = readableObjects.value(0);
+        readableObjects.removeFirst();
         if (readType == type
                 || (type.getBaseClass() == readType.getBaseClass()
                 && type.getOutputClass() == readType.getOutputClass())) {
             //noinspection unchecked
-            return (T) readValue.value();
-        } else {
-            throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readValue.type().getTypeName()), type, readableObjects.size());
+            return (T) value;
         }
+
+        // Hand over the already decoded value instead of going through a buffer if the type can convert it
+        if (value != null && type instanceof TypeConverter<?>) {
+            try {
+                //noinspection unchecked
+                final T convertedValue = ((TypeConverter<T>) type).from(value);
+                if (convertedValue != null) {
+                    return convertedValue;
+                }
+            } catch (final ClassCastException ignored) {
+                // Not convertible, fall through
+            }
+        }
+        throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readType.getTypeName()), type, readableObjects.size());
     }
 
     @Override
     public <T> void write(Type<T> type, T value) {
-        packetValues.add(new PacketValue<>(type, attemptTransform(type, value)));
+        if (passedThroughRemaining) {
+            // Keep the order when writing after passing through everything
+            readRemaining();
+        }
+        packetValues.add(type, attemptTransform(type, value));
+    }
+
+    @Override
+    public int readVarInt() throws Exception {
+        if (readableObjects.isEmpty()) {
+            Preconditions.checkNotNull(inputBuffer, "This packet does not have an input buffer.");
+            try {
+                return Type.VAR_INT.readPrimitive(inputBuffer);
+            } catch (Exception e) {
+                throw createInformativeException(e, Type.VAR_INT, packetValues.size() + 1);
+            }
+        }
+
+        if (readableObjects.type(0) == Type.VAR_INT && readableObjects.isPrimitive(0)) {
+            final int value = (int) readableObjects.primitive(0);
+            readableObjects.removeFirst();
+            return value;
+        }
+        return read(Type.VAR_INT);
+    }
+
+    @Override
+    public void writeVarInt(int value) {
+        if (passedThroughRemaining) {
+            readRemaining();
+        }
+        packetValues.addPrimitive(Type.VAR_INT, value);
+    }
+
+    @Override
+    public int passthroughVarInt() throws Exception {
+        final int value = readVarInt();
+        writeVarInt(value);
+        return value;
     }
 
     /**
@@ -194,14 +306,31 @@ public class PacketWrapperImpl implements PacketWrapper {
         // Copy previous objects
         packetValues.addAll(readableObjects);
         readableObjects.clear();
-        // If the buffer has readable bytes, copy them.
-        if (inputBuffer.isReadable()) {
-            passthrough(Type.REMAINING_BYTES);
+        // Leave the remaining bytes in the input buffer, they are written as they are at the end
+        passedThroughRemaining = inputBuffer != null && inputBuffer.isReadable();
+    }
+
+    private void readRemaining() {
+        passedThroughRemaining = false;
+        if (inputBuffer != null && inputBuffer.isReadable()) {
+            packetValues.add(Type.REMAINING_BYTES, Type.REMAINING_BYTES.read(inputBuffer));
         }
     }
 
     @Override
     public void writeToBuffer(ByteBuf buffer) throws Exception {
+        writeToBuffer(buffer, true);
+    }
+
+    /**
+     * Writes the packet id and packet values to the buffer.
+     *
+     * @param buffer         buffer to write to
+     * @param writeRemaining whether the unread remaining bytes of the input buffer should be written as well
+     * @throws InformativeException if it fails to write a value
+     */
+    public void writeToBuffer(ByteBuf buffer, boolean writeRemaining) throws Exception {
+        checkNotReleased();
         if (id != -1) {
             Type.VAR_INT.writePrimitive(buffer, id);
         }
@@ -210,16 +339,16 @@ public class PacketWrapperImpl implements PacketWrapper {
             readableObjects.clear();
         }
 
-        int index = 0;
-        for (final PacketValue<?> packetValue : packetValues) {
+        for (int i = 0; i < packetValues.size(); i++) {
             try {
-                packetValue.write(buffer);
+                packetValues.write(buffer, i);
             } catch (final Exception e) {
-                throw createInformativeException(e, packetValue.type(), index);
+                throw createInformativeException(e, packetValues.type(i), i);
             }
-            index++;
         }
-        writeRemaining(buffer);
+        if (writeRemaining) {
+            writeRemaining(buffer);
+        }
     }
 
     private InformativeException createInformativeException(final Exception cause, final Type<?> type, final int index) {
@@ -236,6 +365,7 @@ public class PacketWrapperImpl implements PacketWrapper {
         if (inputBuffer != null) {
             inputBuffer.clear();
         }
+        passedThroughRemaining = false;
         readableObjects.clear(); // :(
     }
 
@@ -279,6 +409,8 @@ public class PacketWrapperImpl implements PacketWrapper {
             return;
         }
 
+        // The wrapper is used after the current transformation, so it must not be reused
+        retained = true;
         connection.getChannel().eventLoop().submit(() -> {
             try {
                 final ByteBuf output = constructPacket(protocol, skipCurrentPipeline, Direction.CLIENTBOUND);
@@ -304,6 +436,7 @@ public class PacketWrapperImpl implements PacketWrapper {
      * @throws Exception if it fails to write
      */
     private ByteBuf constructPacket(Class<? extends Protocol> packetProtocol, boolean skipCurrentPipeline, Direction direction) throws Exception {
+        checkNotReleased();
         final ProtocolInfo protocolInfo = user().getProtocolInfo();
         final List<Protocol> pipes = direction == Direction.SERVERBOUND ? protocolInfo.getPipeline().pipes() : protocolInfo.getPipeline().reversedPipes();
         final List<Protocol> protocols = new ArrayList<>();
@@ -447,11 +580,13 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public void resetReader() {
-        // Move all packet values to the readable for next packet.
-        for (int i = packetValues.size() - 1; i >= 0; i--) {
-            this.readableObjects.addFirst(this.packetValues.get(i));
-        }
-        this.packetValues.clear();
+        passedThroughRemaining = false;
+        // Move all packet values in front of the remaining readable values for next packet.
+        packetValues.addAll(readableObjects);
+        readableObjects.clear();
+        final PacketValues values = readableObjects;
+        readableObjects = packetValues;
+        packetValues = values;
     }
 
     @Override
@@ -510,6 +645,8 @@ public class PacketWrapperImpl implements PacketWrapper {
             return;
         }
 
+        // The wrapper is used after the current transformation, so it must not be reused
+        retained = true;
         connection.getChannel().eventLoop().submit(() -> {
             try {
                 final ByteBuf output = constructPacket(protocol, skipCurrentPipeline, Direction.SERVERBOUND);
@@ -563,51 +700,4 @@ public class PacketWrapperImpl implements PacketWrapper {
                 ", readable=" + readableObjects +
                 '}';
     }
-
-    public static final class PacketValue<T> {
-        private final Type<T> type;
-        private T value;
-
-        private PacketValue(final Type<T> type, @Nullable final T value) {
-            this.type = type;
-            this.value = value;
-        }
-
-        public Type<T> type() {
-            return type;
-        }
-
-        public @Nullable Object value() {
-            return value;
-        }
-
-        public void write(final ByteBuf buffer) throws Exception {
-            type.write(buffer, value);
-        }
-
-        public void setValue(@Nullable final T value) {
-            this.value = value;
-        }
-
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            final PacketValue<?> that = (PacketValue<?>) o;
-            if (!type.equals(that.type)) return false;
-            return Objects.equals(value, that.value);
-        }
-
-        @Override
-        public int hashCode() {
-            int result = type.hashCode();
-            result = 31 * result + (value != null ? value.hashCode() : 0);
-            return result;
-        }
-
-        @Override
-        public String toString() {
-            return "{" + type + ": " + value + "}";
-        }
-    }
 }
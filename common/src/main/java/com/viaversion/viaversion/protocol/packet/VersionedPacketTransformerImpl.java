@@ -19,6 +19,7 @@ package com.viaversion.viaversion.protocol.packet;
 
 import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
@@ -30,9 +31,20 @@ import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.packet.VersionedPacketTransformer;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.util.PipelineUtil;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class VersionedPacketTransformerImpl<C extends ClientboundPacketType, S extends ServerboundPacketType> implements VersionedPacketTransformer<C, S> {
@@ -82,6 +94,103 @@ public class VersionedPacketTransformerImpl<C extends ClientboundPacketType, S e
         return scheduleCreateAndSend(connection, packetType, packetWriter);
     }
 
+    @Override
+    public int broadcast(Collection<UserConnection> connections, C packetType, Consumer<PacketWrapper> packetWriter) throws Exception {
+        Preconditions.checkArgument(packetType.getClass() == clientboundPacketsClass, "Packet type is of the wrong packet class");
+        // Connections by state and client version, as handlers may act differently outside the play state
+        Map<State, Int2ObjectMap<List<UserConnection>>> groups = new EnumMap<>(State.class);
+        for (UserConnection connection : connections) {
+            ProtocolInfo info = connection.getProtocolInfo();
+            Int2ObjectMap<List<UserConnection>> versionGroups = groups.computeIfAbsent(info.getState(Direction.CLIENTBOUND), state -> new Int2ObjectOpenHashMap<>());
+            List<UserConnection> group = versionGroups.get(info.getProtocolVersion());
+            if (group == null) {
+                versionGroups.put(info.getProtocolVersion(), group = new ArrayList<>());
+            }
+            group.add(connection);
+        }
+
+        int sent = 0;
+        for (Map.Entry<State, Int2ObjectMap<List<UserConnection>>> stateEntry : groups.entrySet()) {
+            for (Int2ObjectMap.Entry<List<UserConnection>> versionEntry : stateEntry.getValue().int2ObjectEntrySet()) {
+                List<UserConnection> group = versionEntry.getValue();
+                try {
+                    sent += broadcast(group, stateEntry.getKey(), versionEntry.getIntKey(), packetType, packetWriter);
+                } catch (Exception e) {
+                    // Don't let a single client version prevent sending the packet to the others
+                    Via.getPlatform().getLogger().log(Level.WARNING, "Failed to broadcast " + packetType.getName()
+                            + " to client version " + ProtocolVersion.getProtocol(versionEntry.getIntKey()), e);
+                }
+            }
+        }
+        return sent;
+    }
+
+    private int broadcast(List<UserConnection> group, State state, int clientProtocolVersion, C packetType, Consumer<PacketWrapper> packetWriter) throws Exception {
+        List<Protocol> protocolList = protocolList(clientProtocolVersion, inputProtocolVersion);
+        if (protocolList == null || isShareable(protocolList, state, packetType.getId())) {
+            // Written once, transformed once on the first connection's event loop, and shared with the others
+            PacketWrapper packet = PacketWrapper.create(packetType, group.get(0));
+            packetWriter.accept(packet);
+            group.get(0).getChannel().eventLoop().execute(() -> transformAndBroadcast(packet, group));
+            return group.size();
+        }
+
+        int sent = 0;
+        for (UserConnection connection : group) {
+            try {
+                PacketWrapper packet = PacketWrapper.create(packetType, connection);
+                packetWriter.accept(packet);
+                connection.getChannel().eventLoop().execute(() -> transformAndBroadcast(packet, Collections.singletonList(connection)));
+                sent++;
+            } catch (Exception e) {
+                // Don't let a single connection prevent sending the packet to the others
+                Via.getPlatform().getLogger().log(Level.WARNING, "Failed to broadcast " + packetType.getName()
+                        + " to " + connection.getProtocolInfo().getUsername(), e);
+            }
+        }
+        return sent;
+    }
+
+    private void transformAndBroadcast(PacketWrapper packet, List<UserConnection> connections) {
+        ByteBuf transformed = null;
+        try {
+            transformPacket(packet);
+            if (packet.isCancelled()) {
+                return;
+            }
+
+            transformed = packet.user().getChannel().alloc().buffer();
+            packet.writeToBuffer(transformed);
+            for (UserConnection connection : connections) {
+                // Separate reader index for each channel, sharing the contents
+                connection.scheduleSendRawPacket(transformed.duplicate().retain());
+            }
+        } catch (Exception e) {
+            if (!PipelineUtil.containsCause(e, CancelException.class)) {
+                Via.getPlatform().getLogger().log(Level.WARNING, "Failed to broadcast " + packet.getPacketType().getName()
+                        + " to " + packet.user().getProtocolInfo().getUsername(), e);
+            }
+        } finally {
+            if (transformed != null) {
+                transformed.release();
+            }
+        }
+    }
+
+    private boolean isShareable(List<Protocol> protocolList, State state, int packetId) {
+        // Packets are transformed as play packets, so connections in other states each get their own transformation
+        if (state != State.PLAY) {
+            return false;
+        }
+
+        // Clientbound packets are applied from the server to the client version
+        Protocol[] protocols = new Protocol[protocolList.size()];
+        for (int i = 0; i < protocols.length; i++) {
+            protocols[i] = protocolList.get(protocols.length - 1 - i);
+        }
+        return ProtocolPipelineImpl.isTransformCacheable(protocols, Direction.CLIENTBOUND, state, packetId);
+    }
+
     @Override
     public @Nullable PacketWrapper transform(PacketWrapper packet) throws Exception {
         validatePacket(packet);
@@ -145,18 +254,7 @@ public class VersionedPacketTransformerImpl<C extends ClientboundPacketType, S e
         int serverProtocolVersion = clientbound ? this.inputProtocolVersion : connection.getProtocolInfo().getServerProtocolVersion();
         int clientProtocolVersion = clientbound ? connection.getProtocolInfo().getProtocolVersion() : this.inputProtocolVersion;
 
-        // Construct protocol pipeline
-        List<ProtocolPathEntry> path = Via.getManager().getProtocolManager().getProtocolPath(clientProtocolVersion, serverProtocolVersion);
-        List<Protocol> protocolList = null;
-        if (path != null) {
-            protocolList = new ArrayList<>(path.size());
-            for (ProtocolPathEntry entry : path) {
-                protocolList.add(entry.protocol());
-            }
-        } else if (serverProtocolVersion != clientProtocolVersion) {
-            throw new RuntimeException("No protocol path between client version " + clientProtocolVersion + " and server version " + serverProtocolVersion);
-        }
-
+        List<Protocol> protocolList = protocolList(clientProtocolVersion, serverProtocolVersion);
         if (protocolList != null) {
             // Reset reader and apply pipeline
             packet.resetReader();
@@ -170,6 +268,21 @@ public class VersionedPacketTransformerImpl<C extends ClientboundPacketType, S e
         }
     }
 
+    private @Nullable List<Protocol> protocolList(int clientProtocolVersion, int serverProtocolVersion) {
+        // Construct protocol pipeline
+        List<ProtocolPathEntry> path = Via.getManager().getProtocolManager().getProtocolPath(clientProtocolVersion, serverProtocolVersion);
+        if (path != null) {
+            List<Protocol> protocolList = new ArrayList<>(path.size());
+            for (ProtocolPathEntry entry : path) {
+                protocolList.add(entry.protocol());
+            }
+            return protocolList;
+        } else if (serverProtocolVersion != clientProtocolVersion) {
+            throw new RuntimeException("No protocol path between client version " + clientProtocolVersion + " and server version " + serverProtocolVersion);
+        }
+        return null;
+    }
+
     private boolean createAndSend(UserConnection connection, PacketType packetType, Consumer<PacketWrapper> packetWriter) throws Exception {
         PacketWrapper packet = PacketWrapper.create(packetType, connection);
         packetWriter.accept(packet);
@@ -127,6 +127,7 @@ public class Protocol1_13_1To1_13 extends AbstractProtocol<ClientboundPackets1_1
                 });
             }
         });
+        setClientboundCacheable(ClientboundPackets1_13.BOSSBAR, true);
 
         new TagRewriter<>(this).register(ClientboundPackets1_13.TAGS, RegistryType.ITEM);
         new StatisticsRewriter<>(this).register(ClientboundPackets1_13.STATISTICS);
@@ -254,6 +254,8 @@ public class Protocol1_13To1_12_2 extends AbstractProtocol<ClientboundPackets1_1
 
 
         componentRewriter.registerBossBar(ClientboundPackets1_12_1.BOSSBAR);
+        // Component and show_item rewriting only depends on the mappings
+        setClientboundCacheable(ClientboundPackets1_12_1.BOSSBAR, true);
         componentRewriter.registerComponentPacket(ClientboundPackets1_12_1.CHAT_MESSAGE);
 
         registerClientbound(ClientboundPackets1_12_1.TAB_COMPLETE, wrapper -> {
@@ -418,6 +420,8 @@ public class Protocol1_13To1_12_2 extends AbstractProtocol<ClientboundPackets1_1
                     int dimensionId = wrapper.get(Type.INT, 0);
                     clientWorld.setEnvironment(dimensionId);
 
+                    // Client unloads chunks on respawn
+                    wrapper.user().get(BlockStorage.class).clear();
                     if (Via.getConfig().isServersideBlockConnections()) {
                         ConnectionData.clearBlockStorage(wrapper.user());
                     }
@@ -588,6 +592,7 @@ public class Protocol1_13To1_12_2 extends AbstractProtocol<ClientboundPackets1_1
                         wrapper.cancel();
                         tracker.setTimeToSend(System.currentTimeMillis() + Via.getConfig().get1_13TabCompleteDelay() * 50L);
                         tracker.setLastTabComplete(wrapper.get(Type.STRING, 0));
+                        Via.getManager().getConnectionScheduler().schedule(wrapper.user(), tracker.getTimeToSend(), tracker::sendPacketToServer);
                     }
                 });
             }
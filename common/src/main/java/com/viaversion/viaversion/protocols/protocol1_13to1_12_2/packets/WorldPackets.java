@@ -299,18 +299,14 @@ public class WorldPackets {
             }
         });
 
-        protocol.registerClientbound(ClientboundPackets1_12_1.UNLOAD_CHUNK, new PacketHandlers() {
-            @Override
-            public void register() {
-                if (Via.getConfig().isServersideBlockConnections()) {
-                    handler(wrapper -> {
-                        int x = wrapper.passthrough(Type.INT);
-                        int z = wrapper.passthrough(Type.INT);
-                        ConnectionData.blockConnectionProvider.unloadChunk(wrapper.user(), x, z);
-                    });
-                }
-            }
-        });
+        if (Via.getConfig().isServersideBlockConnections()) {
+            // Otherwise only the id changes, so keep the packet on the id-only path
+            protocol.registerClientbound(ClientboundPackets1_12_1.UNLOAD_CHUNK, wrapper -> {
+                int x = wrapper.passthrough(Type.INT);
+                int z = wrapper.passthrough(Type.INT);
+                ConnectionData.blockConnectionProvider.unloadChunk(wrapper.user(), x, z);
+            });
+        }
 
         protocol.registerClientbound(ClientboundPackets1_12_1.NAMED_SOUND, new PacketHandlers() {
             @Override
@@ -332,6 +328,10 @@ public class WorldPackets {
             ChunkType1_13 type1_13 = ChunkType1_13.forEnvironment(clientWorld.getEnvironment());
             Chunk chunk = wrapper.read(type);
             wrapper.write(type1_13, chunk);
+            if (chunk.isFullChunk()) {
+                // Drop entries of a previously loaded version of the chunk
+                storage.unloadChunk(chunk.getX(), chunk.getZ());
+            }
 
             for (int s = 0; s < chunk.getSections().length; s++) {
                 ChunkSection section = chunk.getSections()[s];
@@ -17,23 +17,34 @@
  */
 package com.viaversion.viaversion.protocols.protocol1_13to1_12_2.storage;
 
-import com.google.common.collect.EvictingQueue;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.minecraft.Position;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Queue;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class BlockConnectionStorage implements StorableObject {
+    private static final int MAX_MODIFIED = 5;
+    private static final int MODIFIED_DISTANCE = 2;
     private static Constructor<?> fastUtilLongObjectHashMap;
 
     private final Map<Long, SectionData> blockStorage = createLongObjectMap();
-    @SuppressWarnings("UnstableApiUsage")
-    private final Queue<Position> modified = EvictingQueue.create(5);
+    // Ring buffer of the last modified positions, with their bounding box to skip the distance checks for positions far away
+    private final int[] modifiedX = new int[MAX_MODIFIED];
+    private final int[] modifiedY = new int[MAX_MODIFIED];
+    private final int[] modifiedZ = new int[MAX_MODIFIED];
+    private int modifiedCount;
+    private int modifiedHead;
+    private int minModifiedX;
+    private int minModifiedY;
+    private int minModifiedZ;
+    private int maxModifiedX;
+    private int maxModifiedY;
+    private int maxModifiedZ;
 
     // Cache to retrieve section quicker
     private long lastIndex = -1;
@@ -94,15 +105,50 @@ public class BlockConnectionStorage implements StorableObject {
     }
 
     public void markModified(Position pos) {
+        final int x = pos.x();
+        final int y = pos.y();
+        final int z = pos.z();
         // Avoid saving the same pos twice
-        if (!modified.contains(pos)) {
-            this.modified.add(pos);
+        for (int i = 0; i < modifiedCount; i++) {
+            if (modifiedX[i] == x && modifiedY[i] == y && modifiedZ[i] == z) {
+                return;
+            }
+        }
+
+        modifiedX[modifiedHead] = x;
+        modifiedY[modifiedHead] = y;
+        modifiedZ[modifiedHead] = z;
+        modifiedHead = (modifiedHead + 1) % MAX_MODIFIED;
+        if (modifiedCount < MAX_MODIFIED) {
+            modifiedCount++;
+        }
+
+        minModifiedX = maxModifiedX = x;
+        minModifiedY = maxModifiedY = y;
+        minModifiedZ = maxModifiedZ = z;
+        for (int i = 0; i < modifiedCount; i++) {
+            minModifiedX = Math.min(minModifiedX, modifiedX[i]);
+            minModifiedY = Math.min(minModifiedY, modifiedY[i]);
+            minModifiedZ = Math.min(minModifiedZ, modifiedZ[i]);
+            maxModifiedX = Math.max(maxModifiedX, modifiedX[i]);
+            maxModifiedY = Math.max(maxModifiedY, modifiedY[i]);
+            maxModifiedZ = Math.max(maxModifiedZ, modifiedZ[i]);
         }
     }
 
     public boolean recentlyModified(Position pos) {
-        for (Position p : modified) {
-            if (Math.abs(pos.x() - p.x()) + Math.abs(pos.y() - p.y()) + Math.abs(pos.z() - p.z()) <= 2) {
+        final int x = pos.x();
+        final int y = pos.y();
+        final int z = pos.z();
+        if (modifiedCount == 0
+                || x < minModifiedX - MODIFIED_DISTANCE || x > maxModifiedX + MODIFIED_DISTANCE
+                || y < minModifiedY - MODIFIED_DISTANCE || y > maxModifiedY + MODIFIED_DISTANCE
+                || z < minModifiedZ - MODIFIED_DISTANCE || z > maxModifiedZ + MODIFIED_DISTANCE) {
+            return false;
+        }
+
+        for (int i = 0; i < modifiedCount; i++) {
+            if (Math.abs(x - modifiedX[i]) + Math.abs(y - modifiedY[i]) + Math.abs(z - modifiedZ[i]) <= MODIFIED_DISTANCE) {
                 return true;
             }
         }
@@ -113,7 +159,8 @@ public class BlockConnectionStorage implements StorableObject {
         blockStorage.clear();
         lastSection = null;
         lastIndex = -1;
-        modified.clear();
+        modifiedCount = 0;
+        modifiedHead = 0;
     }
 
     public void unloadChunk(int x, int z) {
@@ -158,34 +205,125 @@ public class BlockConnectionStorage implements StorableObject {
         return new HashMap<>();
     }
 
+    /**
+     * Block states of a section, stored as palette indexes packed into longs with as few bits as the palette needs.
+     * Sections with too many different states fall back to storing the states directly.
+     */
     private static final class SectionData {
-        private final short[] blockStates = new short[4096];
-        private short nonEmptyBlocks;
+        private static final int SIZE = 4096;
+        private static final int MAX_PALETTE_BITS = 8;
+        private int[] palette = new int[]{0}; // Air is always at index 0
+        private int paletteSize = 1;
+        private int bitsPerEntry; // 0 while the section only contains air
+        private long[] data;
+        private short[] directStates;
+        private int nonEmptyBlocks;
 
         public int blockAt(int x, int y, int z) {
-            return blockStates[encodeBlockPos(x, y, z)];
+            int index = encodeBlockPos(x, y, z);
+            if (directStates != null) {
+                return directStates[index];
+            }
+            return bitsPerEntry == 0 ? 0 : palette[paletteIndex(index)];
         }
 
         public void setBlockAt(int x, int y, int z, int blockState) {
             int index = encodeBlockPos(x, y, z);
-            if (blockState == blockStates[index]) {
-                return;
+            int previousState;
+            if (directStates != null) {
+                previousState = directStates[index];
+                directStates[index] = (short) blockState;
+            } else {
+                previousState = bitsPerEntry == 0 ? 0 : palette[paletteIndex(index)];
+                if (previousState == blockState) {
+                    return;
+                }
+
+                int paletteIndex = paletteIndexOf(blockState);
+                if (directStates != null) {
+                    // The palette has become too large
+                    directStates[index] = (short) blockState;
+                } else {
+                    setPaletteIndex(index, paletteIndex);
+                }
             }
 
-            blockStates[index] = (short) blockState;
-            if (blockState == 0) {
-                nonEmptyBlocks--;
-            } else {
+            if (previousState == 0 && blockState != 0) {
                 nonEmptyBlocks++;
+            } else if (previousState != 0 && blockState == 0) {
+                nonEmptyBlocks--;
             }
         }
 
-        public short nonEmptyBlocks() {
+        public int nonEmptyBlocks() {
             return nonEmptyBlocks;
         }
 
+        private int paletteIndexOf(int blockState) {
+            for (int i = 0; i < paletteSize; i++) {
+                if (palette[i] == blockState) {
+                    return i;
+                }
+            }
+
+            if (paletteSize == (1 << bitsPerEntry)) {
+                resize(bitsPerEntry + 1);
+                if (directStates != null) {
+                    return -1;
+                }
+            }
+            if (paletteSize == palette.length) {
+                palette = Arrays.copyOf(palette, paletteSize * 2);
+            }
+            palette[paletteSize] = blockState;
+            return paletteSize++;
+        }
+
+        private void resize(int newBitsPerEntry) {
+            if (newBitsPerEntry > MAX_PALETTE_BITS) {
+                short[] states = new short[SIZE];
+                for (int i = 0; i < SIZE; i++) {
+                    states[i] = (short) palette[paletteIndex(i)];
+                }
+                directStates = states;
+                data = null;
+                palette = null;
+                return;
+            }
+
+            long[] oldData = data;
+            int oldBitsPerEntry = bitsPerEntry;
+            bitsPerEntry = newBitsPerEntry;
+            data = new long[(SIZE + (64 / newBitsPerEntry) - 1) / (64 / newBitsPerEntry)];
+            if (oldBitsPerEntry == 0) {
+                return;
+            }
+
+            int oldValuesPerLong = 64 / oldBitsPerEntry;
+            long oldMask = (1L << oldBitsPerEntry) - 1;
+            for (int i = 0; i < SIZE; i++) {
+                int paletteIndex = (int) ((oldData[i / oldValuesPerLong] >>> ((i % oldValuesPerLong) * oldBitsPerEntry)) & oldMask);
+                if (paletteIndex != 0) {
+                    setPaletteIndex(i, paletteIndex);
+                }
+            }
+        }
+
+        private int paletteIndex(int index) {
+            int valuesPerLong = 64 / bitsPerEntry;
+            return (int) ((data[index / valuesPerLong] >>> ((index % valuesPerLong) * bitsPerEntry)) & ((1L << bitsPerEntry) - 1));
+        }
+
+        private void setPaletteIndex(int index, int paletteIndex) {
+            int valuesPerLong = 64 / bitsPerEntry;
+            int shift = (index % valuesPerLong) * bitsPerEntry;
+            long mask = ((1L << bitsPerEntry) - 1) << shift;
+            int dataIndex = index / valuesPerLong;
+            data[dataIndex] = (data[dataIndex] & ~mask) | ((long) paletteIndex << shift);
+        }
+
         private static int encodeBlockPos(int x, int y, int z) {
             return ((y & 0xF) << 8) | ((x & 0xF) << 4) | (z & 0xF);
         }
     }
-}
\ No newline at end of file
+}
@@ -19,15 +19,13 @@ package com.viaversion.viaversion.protocols.protocol1_13to1_12_2.storage;
 
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.minecraft.Position;
+import com.viaversion.viaversion.util.BlockPositionMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
-import java.util.Map;
-import space.vectrix.flare.SyncMap;
 
-// TODO Fix memory leak lolz (only a smol one tho)
 public class BlockStorage implements StorableObject {
     private static final IntSet WHITELIST = new IntOpenHashSet(46, .99F);
-    private final Map<Position, ReplacementData> blocks = SyncMap.hashmap();
+    private final BlockPositionMap<ReplacementData> blocks = new BlockPositionMap<>();
 
     static {
         // Flower pots
@@ -62,7 +60,7 @@ public class BlockStorage implements StorableObject {
         if (!WHITELIST.contains(block))
             return;
 
-        blocks.put(position, new ReplacementData(block, replacementId));
+        blocks.put(position.x(), position.y(), position.z(), new ReplacementData(block, replacementId));
     }
 
     public boolean isWelcome(int block) {
@@ -70,15 +68,23 @@ public class BlockStorage implements StorableObject {
     }
 
     public boolean contains(Position position) {
-        return blocks.containsKey(position);
+        return blocks.containsKey(position.x(), position.y(), position.z());
     }
 
     public ReplacementData get(Position position) {
-        return blocks.get(position);
+        return blocks.get(position.x(), position.y(), position.z());
     }
 
     public ReplacementData remove(Position position) {
-        return blocks.remove(position);
+        return blocks.remove(position.x(), position.y(), position.z());
+    }
+
+    public void unloadChunk(int chunkX, int chunkZ) {
+        blocks.removeChunk(chunkX, chunkZ);
+    }
+
+    public void clear() {
+        blocks.clear();
     }
 
     public static final class ReplacementData {
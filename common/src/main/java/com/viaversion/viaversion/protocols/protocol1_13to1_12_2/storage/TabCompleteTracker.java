@@ -35,7 +35,9 @@ public class TabCompleteTracker implements StorableObject {
     private long timeToSend;
 
     public void sendPacketToServer(UserConnection connection) {
+        // Called by the connection scheduler, newer tab completions push the time to send back and schedule again
         if (lastTabComplete == null || timeToSend > System.currentTimeMillis()) return;
+        if (connection.get(TabCompleteTracker.class) != this || !connection.getProtocolInfo().getPipeline().contains(Protocol1_13To1_12_2.class)) return;
         PacketWrapper wrapper = PacketWrapper.create(ServerboundPackets1_12_1.TAB_COMPLETE, null, connection);
         wrapper.write(Type.STRING, lastTabComplete);
         wrapper.write(Type.BOOLEAN, false);
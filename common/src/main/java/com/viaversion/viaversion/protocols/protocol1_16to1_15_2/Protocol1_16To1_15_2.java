@@ -133,6 +133,7 @@ public class Protocol1_16To1_15_2 extends AbstractProtocol<ClientboundPackets1_1
             }
         });
         componentRewriter.registerBossBar(ClientboundPackets1_15.BOSSBAR);
+        setClientboundCacheable(ClientboundPackets1_15.BOSSBAR, true); // Translation mappings don't depend on the connection
         componentRewriter.registerTitle(ClientboundPackets1_15.TITLE);
         componentRewriter.registerCombatEvent(ClientboundPackets1_15.COMBAT_EVENT);
 
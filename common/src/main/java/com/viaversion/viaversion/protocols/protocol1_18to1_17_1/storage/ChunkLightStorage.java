@@ -18,41 +18,38 @@
 package com.viaversion.viaversion.protocols.protocol1_18to1_17_1.storage;
 
 import com.viaversion.viaversion.api.connection.StorableObject;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import com.viaversion.viaversion.util.ChunkPositionMap;
+import com.viaversion.viaversion.util.ChunkPositionSet;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class ChunkLightStorage implements StorableObject {
 
-    private final Map<Long, ChunkLight> lightPackets = new HashMap<>();
-    private final Set<Long> loadedChunks = new HashSet<>();
+    private final ChunkPositionMap<ChunkLight> lightPackets = new ChunkPositionMap<>();
+    private final ChunkPositionSet loadedChunks = new ChunkPositionSet();
 
     public void storeLight(final int x, final int z, final ChunkLight chunkLight) {
-        lightPackets.put(getChunkSectionIndex(x, z), chunkLight);
+        lightPackets.put(x, z, chunkLight);
     }
 
     public @Nullable ChunkLight removeLight(final int x, final int z) {
-        return lightPackets.remove(getChunkSectionIndex(x, z));
+        return lightPackets.remove(x, z);
     }
 
     public @Nullable ChunkLight getLight(final int x, final int z) {
-        return lightPackets.get(getChunkSectionIndex(x, z));
+        return lightPackets.get(x, z);
     }
 
     public boolean addLoadedChunk(final int x, final int z) {
-        return loadedChunks.add(getChunkSectionIndex(x, z));
+        return loadedChunks.add(x, z);
     }
 
     public boolean isLoaded(final int x, final int z) {
-        return loadedChunks.contains(getChunkSectionIndex(x, z));
+        return loadedChunks.contains(x, z);
     }
 
     public void clear(final int x, final int z) {
-        final long index = getChunkSectionIndex(x, z);
-        lightPackets.remove(index);
-        loadedChunks.remove(index);
+        lightPackets.remove(x, z);
+        loadedChunks.remove(x, z);
     }
 
     public void clear() {
@@ -60,10 +57,6 @@ public final class ChunkLightStorage implements StorableObject {
         lightPackets.clear();
     }
 
-    private long getChunkSectionIndex(final int x, final int z) {
-        return ((x & 0x3FFFFFFL) << 38) | (z & 0x3FFFFFFL);
-    }
-
     public static final class ChunkLight {
         private final boolean trustEdges;
         private final long[] skyLightMask;
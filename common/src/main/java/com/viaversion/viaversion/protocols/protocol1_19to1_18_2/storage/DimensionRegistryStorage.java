@@ -19,6 +19,7 @@ package com.viaversion.viaversion.protocols.protocol1_19to1_18_2.storage;
 
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.viaversion.viaversion.api.connection.StorableObject;
+import com.viaversion.viaversion.data.RegistryInterner;
 import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -30,10 +31,21 @@ public final class DimensionRegistryStorage implements StorableObject {
         return dimensions.get(dimensionData); // HMMMMMMMMMMM
     }
 
+    /**
+     * Sets the dimensions, stored as an immutable copy that is shared with other connections sending equal dimensions.
+     * The dimension tags must not be modified afterwards.
+     *
+     * @param dimensions map of dimension data to their keys
+     */
     public void setDimensions(final Map<CompoundTag, String> dimensions) {
-        this.dimensions = dimensions;
+        this.dimensions = RegistryInterner.intern(dimensions);
     }
 
+    /**
+     * Returns the dimensions as an immutable map.
+     *
+     * @return immutable map of dimension data to their keys
+     */
     public Map<CompoundTag, String> dimensions() {
         return dimensions;
     }
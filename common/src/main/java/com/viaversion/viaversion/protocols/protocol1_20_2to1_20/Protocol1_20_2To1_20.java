@@ -197,6 +197,12 @@ public final class Protocol1_20_2To1_20 extends AbstractProtocol<ClientboundPack
         });
     }
 
+    @Override
+    public boolean transformsByMappingsOnly(final Direction direction, final State state) {
+        // Clientbound packets may be queued or moved to the configuration state
+        return direction == Direction.SERVERBOUND;
+    }
+
     @Override
     public void transform(final Direction direction, final State state, final PacketWrapper packetWrapper) throws Exception {
         if (direction == Direction.SERVERBOUND) {
@@ -279,7 +285,7 @@ public final class Protocol1_20_2To1_20 extends AbstractProtocol<ClientboundPack
         protocolInfo.setServerState(State.CONFIGURATION);
 
         final PacketWrapper registryDataPacket = PacketWrapper.create(ClientboundConfigurationPackets1_20_2.REGISTRY_DATA, connection);
-        registryDataPacket.write(Type.COMPOUND_TAG, dimensionRegistry);
+        registryDataPacket.write(Type.COMPOUND_TAG, dimensionRegistry.copy()); // The registry is shared between connections
         registryDataPacket.send(Protocol1_20_2To1_20.class);
 
         // If we tracked enables features, they'd be sent here
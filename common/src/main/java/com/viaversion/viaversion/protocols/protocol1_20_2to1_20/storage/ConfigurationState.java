@@ -23,13 +23,13 @@ import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.data.RegistryInterner;
 import com.viaversion.viaversion.protocols.protocol1_19_4to1_19_3.ServerboundPackets1_19_4;
 import com.viaversion.viaversion.protocols.protocol1_20_2to1_20.Protocol1_20_2To1_20;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ConfigurationState implements StorableObject {
@@ -56,13 +56,15 @@ public class ConfigurationState implements StorableObject {
 
     /**
      * Sets the last dimension registry and returns whether it differs from the previously stored one.
+     * A copy of the registry is interned and shared with other connections, so {@link #lastDimensionRegistry()} must only be read.
      *
      * @param dimensionRegistry dimension registry to set
      * @return whether the dimension registry differs from the previously stored one
      */
     public boolean setLastDimensionRegistry(final CompoundTag dimensionRegistry) {
-        final boolean equals = Objects.equals(this.lastDimensionRegistry, dimensionRegistry);
-        this.lastDimensionRegistry = dimensionRegistry;
+        final CompoundTag interned = RegistryInterner.intern(dimensionRegistry);
+        final boolean equals = this.lastDimensionRegistry == interned;
+        this.lastDimensionRegistry = interned;
         return !equals;
     }
 
@@ -184,6 +184,7 @@ public final class Protocol1_20_3To1_20_2 extends AbstractProtocol<ClientboundPa
                 convertComponent(wrapper);
             }
         });
+        setClientboundCacheable(ClientboundPackets1_20_2.BOSSBAR, true);
         registerClientbound(ClientboundPackets1_20_2.PLAYER_CHAT, wrapper -> {
             wrapper.passthrough(Type.UUID); // Sender
             wrapper.passthrough(Type.VAR_INT); // Index
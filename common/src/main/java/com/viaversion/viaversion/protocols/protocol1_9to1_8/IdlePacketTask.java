@@ -22,22 +22,30 @@ import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.protocols.protocol1_9to1_8.providers.MovementTransmitterProvider;
 import com.viaversion.viaversion.protocols.protocol1_9to1_8.storage.MovementTracker;
+import java.util.function.Consumer;
 
-public class ViaIdleThread implements Runnable {
+/**
+ * Sends idle movement packets to the server for a connection whenever its client hasn't sent one in time,
+ * rescheduling itself to the tracker's next idle deadline.
+ */
+public final class IdlePacketTask implements Consumer<UserConnection> {
+    private final MovementTracker movementTracker;
+
+    public IdlePacketTask(MovementTracker movementTracker) {
+        this.movementTracker = movementTracker;
+    }
 
     @Override
-    public void run() {
-        for (UserConnection info : Via.getManager().getConnectionManager().getConnections()) {
-            ProtocolInfo protocolInfo = info.getProtocolInfo();
-            if (protocolInfo == null || !protocolInfo.getPipeline().contains(Protocol1_9To1_8.class)) continue;
+    public void accept(UserConnection connection) {
+        ProtocolInfo protocolInfo = connection.getProtocolInfo();
+        if (protocolInfo == null || !protocolInfo.getPipeline().contains(Protocol1_9To1_8.class)) return;
 
-            MovementTracker movementTracker = info.get(MovementTracker.class);
-            if (movementTracker == null) continue;
+        // Stop if the protocol has been re-initialized with a new tracker and task
+        if (connection.get(MovementTracker.class) != movementTracker) return;
 
-            long nextIdleUpdate = movementTracker.getNextIdlePacket();
-            if (nextIdleUpdate <= System.currentTimeMillis() && info.getChannel().isOpen()) {
-                Via.getManager().getProviders().get(MovementTransmitterProvider.class).sendPlayer(info);
-            }
+        if (movementTracker.getNextIdlePacket() <= System.currentTimeMillis()) {
+            Via.getManager().getProviders().get(MovementTransmitterProvider.class).sendPlayer(connection);
         }
+        Via.getManager().getConnectionScheduler().schedule(connection, movementTracker.getNextIdlePacket(), this);
     }
 }
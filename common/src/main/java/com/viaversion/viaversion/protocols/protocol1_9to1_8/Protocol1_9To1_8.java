@@ -28,6 +28,7 @@ import com.viaversion.viaversion.api.protocol.AbstractProtocol;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.remapper.ValueTransformer;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.protocols.protocol1_8.ClientboundPackets1_8;
 import com.viaversion.viaversion.protocols.protocol1_8.ServerboundPackets1_8;
@@ -150,7 +151,13 @@ public class Protocol1_9To1_8 extends AbstractProtocol<ClientboundPackets1_8, Cl
         // Chunk tracker
         userConnection.put(new ClientChunks());
         // Movement tracker
-        userConnection.put(new MovementTracker());
+        MovementTracker movementTracker = new MovementTracker();
+        userConnection.put(movementTracker);
+        if (Via.getConfig().isSimulatePlayerTick()
+                && Via.getManager().getProtocolManager().getServerProtocolVersion().lowestSupportedVersion() < ProtocolVersion.v1_9.getVersion()) {
+            // Send idle packets if the client hasn't sent a movement packet in time
+            Via.getManager().getConnectionScheduler().schedule(userConnection, movementTracker.getNextIdlePacket(), new IdlePacketTask(movementTracker));
+        }
         // Inventory tracker
         userConnection.put(new InventoryTracker());
         // CommandBlock storage
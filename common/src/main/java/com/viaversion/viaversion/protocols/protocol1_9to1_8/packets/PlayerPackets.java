@@ -314,7 +314,7 @@ public class PlayerPackets {
 
                 handler(wrapper -> {
                     // Client unloads chunks on respawn
-                    wrapper.user().get(ClientChunks.class).getLoadedChunks().clear();
+                    wrapper.user().get(ClientChunks.class).loadedChunks().clear();
 
                     int gamemode = wrapper.get(Type.UNSIGNED_BYTE, 0);
                     EntityTracker1_9 tracker = wrapper.user().getEntityTracker(Protocol1_9To1_8.class);
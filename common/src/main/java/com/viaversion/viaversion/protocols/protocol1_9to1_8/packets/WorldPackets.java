@@ -124,8 +124,6 @@ public class WorldPackets {
             ClientChunks clientChunks = wrapper.user().get(ClientChunks.class);
             Chunk chunk = wrapper.read(ChunkType1_8.forEnvironment(clientWorld.getEnvironment()));
 
-            long chunkHash = ClientChunks.toLong(chunk.getX(), chunk.getZ());
-
             // Check if the chunk should be handled as an unload packet
             if (chunk.isFullChunk() && chunk.getBitmask() == 0) {
                 wrapper.setPacketType(ClientboundPackets1_9.UNLOAD_CHUNK);
@@ -136,14 +134,14 @@ public class WorldPackets {
                 CommandBlockProvider provider = Via.getManager().getProviders().get(CommandBlockProvider.class);
                 provider.unloadChunk(wrapper.user(), chunk.getX(), chunk.getZ());
 
-                clientChunks.getLoadedChunks().remove(chunkHash);
+                clientChunks.loadedChunks().remove(chunk.getX(), chunk.getZ());
 
                 // Unload the empty chunks
                 if (Via.getConfig().isChunkBorderFix()) {
                     for (BlockFace face : BlockFace.HORIZONTAL) {
                         int chunkX = chunk.getX() + face.modX();
                         int chunkZ = chunk.getZ() + face.modZ();
-                        if (!clientChunks.getLoadedChunks().contains(ClientChunks.toLong(chunkX, chunkZ))) {
+                        if (!clientChunks.loadedChunks().contains(chunkX, chunkZ)) {
                             PacketWrapper unloadChunk = wrapper.create(ClientboundPackets1_9.UNLOAD_CHUNK);
                             unloadChunk.write(Type.INT, chunkX);
                             unloadChunk.write(Type.INT, chunkZ);
@@ -155,14 +153,14 @@ public class WorldPackets {
                 Type<Chunk> chunkType = ChunkType1_9_1.forEnvironment(clientWorld.getEnvironment());
                 wrapper.write(chunkType, chunk);
 
-                clientChunks.getLoadedChunks().add(chunkHash);
+                clientChunks.loadedChunks().add(chunk.getX(), chunk.getZ());
 
                 // Send empty chunks surrounding the loaded chunk to force 1.9+ clients to render the new chunk
                 if (Via.getConfig().isChunkBorderFix()) {
                     for (BlockFace face : BlockFace.HORIZONTAL) {
                         int chunkX = chunk.getX() + face.modX();
                         int chunkZ = chunk.getZ() + face.modZ();
-                        if (!clientChunks.getLoadedChunks().contains(ClientChunks.toLong(chunkX, chunkZ))) {
+                        if (!clientChunks.loadedChunks().contains(chunkX, chunkZ)) {
                             PacketWrapper emptyChunk = wrapper.create(ClientboundPackets1_9.CHUNK_DATA);
                             Chunk c = new BaseChunk(chunkX, chunkZ, true, false, 0, new ChunkSection[16], new int[256], new ArrayList<>());
                             emptyChunk.write(chunkType, c);
@@ -186,14 +184,14 @@ public class WorldPackets {
                 chunkData.write(chunkType, chunk);
                 chunkData.send(Protocol1_9To1_8.class);
 
-                clientChunks.getLoadedChunks().add(ClientChunks.toLong(chunk.getX(), chunk.getZ()));
+                clientChunks.loadedChunks().add(chunk.getX(), chunk.getZ());
 
                 // Send empty chunks surrounding the loaded chunk to force 1.9+ clients to render the new chunk
                 if (Via.getConfig().isChunkBorderFix()) {
                     for (BlockFace face : BlockFace.HORIZONTAL) {
                         int chunkX = chunk.getX() + face.modX();
                         int chunkZ = chunk.getZ() + face.modZ();
-                        if (!clientChunks.getLoadedChunks().contains(ClientChunks.toLong(chunkX, chunkZ))) {
+                        if (!clientChunks.loadedChunks().contains(chunkX, chunkZ)) {
                             PacketWrapper emptyChunk = wrapper.create(ClientboundPackets1_9.CHUNK_DATA);
                             Chunk c = new BaseChunk(chunkX, chunkZ, true, false, 0, new ChunkSection[16], new int[256], new ArrayList<>());
                             emptyChunk.write(chunkType, c);
@@ -17,19 +17,113 @@
  */
 package com.viaversion.viaversion.protocols.protocol1_9to1_8.storage;
 
-import com.google.common.collect.Sets;
 import com.viaversion.viaversion.api.connection.StorableObject;
+import com.viaversion.viaversion.util.ChunkPositionMap;
+import com.viaversion.viaversion.util.ChunkPositionSet;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 public class ClientChunks implements StorableObject {
-    private final Set<Long> loadedChunks = Sets.newConcurrentHashSet();
+    private final ChunkPositionSet loadedChunks = new ChunkPositionSet();
 
+    /**
+     * @deprecated chunks are stored by their coordinates, use {@link #loadedChunks()}
+     */
+    @Deprecated/*(forRemoval = true)*/
     public static long toLong(int msw, int lsw) {
         return ((long) msw << 32) + lsw + 2147483648L;
     }
 
-    public Set<Long> getLoadedChunks() {
+    public ChunkPositionSet loadedChunks() {
         return loadedChunks;
     }
 
+    /**
+     * Returns a view of the loaded chunks, keyed as created by {@link #toLong(int, int)}.
+     * Unlike before, the view is not thread-safe and must only be used on the connection's event loop.
+     *
+     * @return view of the loaded chunks
+     * @deprecated boxes every key, use {@link #loadedChunks()}
+     */
+    @Deprecated/*(forRemoval = true)*/
+    public Set<Long> getLoadedChunks() {
+        return new LegacyLoadedChunks();
+    }
+
+    private final class LegacyLoadedChunks extends AbstractSet<Long> {
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Long)) {
+                return false;
+            }
+            long key = (Long) o;
+            return loadedChunks.contains(chunkX(key), chunkZ(key));
+        }
+
+        @Override
+        public boolean add(Long key) {
+            return loadedChunks.add(chunkX(key), chunkZ(key));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Long)) {
+                return false;
+            }
+            long key = (Long) o;
+            return loadedChunks.remove(chunkX(key), chunkZ(key));
+        }
+
+        @Override
+        public void clear() {
+            loadedChunks.clear();
+        }
+
+        @Override
+        public int size() {
+            return loadedChunks.size();
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            // Iterate over a snapshot, so that removals don't move entries of the backing table
+            List<Long> keys = new ArrayList<>(loadedChunks.size());
+            loadedChunks.forEach(key -> keys.add(toLong(ChunkPositionMap.chunkX(key), ChunkPositionMap.chunkZ(key))));
+            Iterator<Long> iterator = keys.iterator();
+            return new Iterator<Long>() {
+                private Long last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Long next() {
+                    return last = iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    LegacyLoadedChunks.this.remove(last);
+                    last = null;
+                }
+            };
+        }
+
+        private int chunkX(long key) {
+            return (int) (key >> 32);
+        }
+
+        private int chunkZ(long key) {
+            return (int) ((key & 0xFFFFFFFFL) - 2147483648L);
+        }
+    }
 }
@@ -60,11 +60,7 @@ public class EntityTracker1_9 extends EntityTrackerBase {
     private final Int2ObjectMap<BossBar> bossBarMap = Int2ObjectSyncMap.hashmap();
     private final IntSet validBlocking = Int2ObjectSyncMap.hashset();
     private final Set<Integer> knownHolograms = Int2ObjectSyncMap.hashset();
-    private final Set<Position> blockInteractions = Collections.newSetFromMap(CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterAccess(250, TimeUnit.MILLISECONDS)
-            .<Position, Boolean>build()
-            .asMap());
+    private volatile Set<Position> blockInteractions; // Also written to by platform listeners, created on first use
     private boolean blocking = false;
     private boolean autoTeam = false;
     private Position currentlyDigging = null;
@@ -157,11 +153,12 @@ public class EntityTracker1_9 extends EntityTrackerBase {
     }
 
     public boolean interactedBlockRecently(int x, int y, int z) {
-        return blockInteractions.contains(new Position(x, y, z));
+        final Set<Position> blockInteractions = this.blockInteractions;
+        return blockInteractions != null && blockInteractions.contains(new Position(x, y, z));
     }
 
     public void addBlockInteraction(Position p) {
-        blockInteractions.add(p);
+        getBlockInteractions().add(p);
     }
 
     public void handleMetadata(int entityId, List<Metadata> metadataList) {
@@ -394,6 +391,19 @@ public class EntityTracker1_9 extends EntityTrackerBase {
     }
 
     public Set<Position> getBlockInteractions() {
+        Set<Position> blockInteractions = this.blockInteractions;
+        if (blockInteractions == null) {
+            synchronized (this) {
+                blockInteractions = this.blockInteractions;
+                if (blockInteractions == null) {
+                    this.blockInteractions = blockInteractions = Collections.newSetFromMap(CacheBuilder.newBuilder()
+                            .maximumSize(1000)
+                            .expireAfterAccess(250, TimeUnit.MILLISECONDS)
+                            .<Position, Boolean>build()
+                            .asMap());
+                }
+            }
+        }
         return blockInteractions;
     }
 
@@ -98,6 +98,7 @@ public class CommandRewriter<C extends ClientboundPacketType> {
 
             wrapper.passthrough(Type.VAR_INT); // Root node index
         });
+        protocol.setClientboundCacheable(packetType, true);
     }
 
     public void registerDeclareCommands1_19(C packetType) {
@@ -133,6 +134,7 @@ public class CommandRewriter<C extends ClientboundPacketType> {
 
             wrapper.passthrough(Type.VAR_INT); // Root node index
         });
+        protocol.setClientboundCacheable(packetType, true);
     }
 
     public void handleArgument(PacketWrapper wrapper, String argumentType) throws Exception {
@@ -74,6 +74,7 @@ public class RecipeRewriter<C extends ClientboundPacketType> {
                 handleRecipeType(wrapper, Key.stripMinecraftNamespace(type));
             }
         });
+        protocol.setClientboundCacheable(packetType, true);
     }
 
     public void handleCraftingShaped(PacketWrapper wrapper) throws Exception {
@@ -139,6 +139,7 @@ public class TagRewriter<C extends ClientboundPacketType> {
      */
     public void register(C packetType, @Nullable RegistryType readUntilType) {
         protocol.registerClientbound(packetType, getHandler(readUntilType));
+        protocol.setClientboundCacheable(packetType, true);
     }
 
     /**
@@ -148,10 +149,12 @@ public class TagRewriter<C extends ClientboundPacketType> {
      */
     public void registerGeneric(C packetType) {
         protocol.registerClientbound(packetType, getGenericHandler());
+        protocol.setClientboundCacheable(packetType, true);
     }
 
     public void registerGeneric(State state, ClientboundPacketType packetType) {
         protocol.registerClientbound(state, packetType, getGenericHandler());
+        protocol.setClientboundCacheable(state, packetType.getId(), true);
     }
 
     public PacketHandler getHandler(@Nullable RegistryType readUntilType) {
@@ -0,0 +1,135 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.scheduler;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.scheduler.ConnectionScheduler;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Hashed timer wheel with one slot per 50ms tick. Tasks are scheduled from any thread into a queue
+ * and moved into their slot by the ticking thread, which then only visits the slots that became due.
+ */
+public final class ConnectionTimerWheel implements ConnectionScheduler, Runnable {
+    private static final long TICK_MILLIS = 50;
+    private static final int WHEEL_SIZE = 64; // Power of two, 3.2 seconds per round
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private final List<Timeout>[] wheel;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduledTasks = new AtomicInteger();
+    private long processedTick = -1;
+
+    public ConnectionTimerWheel() {
+        //noinspection unchecked
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public void schedule(final UserConnection connection, final long deadlineMillis, final Consumer<UserConnection> task) {
+        pending.add(new Timeout(connection, deadlineMillis / TICK_MILLIS, task));
+        scheduledTasks.incrementAndGet();
+    }
+
+    @Override
+    public int scheduledTasks() {
+        return scheduledTasks.get();
+    }
+
+    /**
+     * Runs all due tasks, to be called once per tick from a single thread.
+     */
+    @Override
+    public void run() {
+        final long currentTick = System.currentTimeMillis() / TICK_MILLIS;
+        if (processedTick == -1) {
+            processedTick = currentTick - 1;
+        }
+
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            // Already due tasks go into the next slot to be processed
+            final long tick = Math.max(timeout.deadlineTick, processedTick + 1);
+            wheel[(int) (tick & WHEEL_MASK)].add(timeout);
+        }
+
+        // Visit every slot passed since the last run, but each at most once after long pauses
+        final long lastTick = Math.min(currentTick, processedTick + WHEEL_SIZE);
+        for (long tick = processedTick + 1; tick <= lastTick; tick++) {
+            final List<Timeout> slot = wheel[(int) (tick & WHEEL_MASK)];
+            if (slot.isEmpty()) {
+                continue;
+            }
+
+            List<Timeout> due = null;
+            for (final Iterator<Timeout> iterator = slot.iterator(); iterator.hasNext(); ) {
+                final Timeout entry = iterator.next();
+                if (entry.deadlineTick <= currentTick) {
+                    iterator.remove();
+                    if (due == null) {
+                        due = new ArrayList<>();
+                    }
+                    due.add(entry);
+                }
+            }
+
+            if (due != null) {
+                // Run after iterating, tasks may schedule themselves again
+                for (final Timeout entry : due) {
+                    scheduledTasks.decrementAndGet();
+                    entry.run();
+                }
+            }
+        }
+        processedTick = currentTick;
+    }
+
+    private static final class Timeout {
+        private final UserConnection connection;
+        private final long deadlineTick;
+        private final Consumer<UserConnection> task;
+
+        private Timeout(final UserConnection connection, final long deadlineTick, final Consumer<UserConnection> task) {
+            this.connection = connection;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        private void run() {
+            if (connection.getChannel() != null && !connection.getChannel().isOpen()) {
+                return;
+            }
+
+            try {
+                task.accept(connection);
+            } catch (final Exception e) {
+                Via.getPlatform().getLogger().log(Level.WARNING, "Failed to run scheduled connection task", e);
+            }
+        }
+    }
+}
@@ -19,9 +19,13 @@ package com.viaversion.viaversion.util;
 
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.viaversion.viaversion.api.Via;
+import java.util.Objects;
 import java.util.logging.Level;
 import net.lenni0451.mcstructs.snbt.SNbtSerializer;
 import net.lenni0451.mcstructs.text.ATextComponent;
@@ -38,6 +42,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public final class ComponentUtil {
 
+    private static final long MAX_CACHED_CHARACTERS = 1 << 22;
+    // Converted components by their serialized source and serializer versions, weighed by the length of the source.
+    // Cached values are never handed out directly, as rewriters of later protocols modify components in place
+    private static final Cache<ConversionKey, Object> CONVERSION_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARACTERS)
+            .weigher((ConversionKey key, Object value) -> key.source.length())
+            .recordStats()
+            .build();
+
     public static JsonObject emptyJsonComponent() {
         return plainToJson("");
     }
@@ -67,13 +80,25 @@ public final class ComponentUtil {
             return null;
         }
 
+        final ConversionKey key = new ConversionKey(element.toString(), SerializerVersion.V1_19_4, SerializerVersion.V1_20_3, true);
+        final Tag cached = (Tag) CONVERSION_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached.copy();
+        }
+
+        final Tag tag;
         try {
             final ATextComponent component = TextComponentSerializer.V1_19_4.deserialize(element);
-            return trimStrings(TextComponentCodec.V1_20_3.serializeNbt(component));
+            tag = trimStrings(TextComponentCodec.V1_20_3.serializeNbt(component));
         } catch (final Exception e) {
             Via.getPlatform().getLogger().log(Level.SEVERE, "Error converting component: " + element, e);
             return new StringTag("<error>");
         }
+
+        if (tag != null) {
+            CONVERSION_CACHE.put(key, tag.copy());
+        }
+        return tag;
     }
 
     private static Tag trimStrings(final Tag input) {
@@ -94,11 +119,29 @@ public final class ComponentUtil {
     }
 
     public static @Nullable JsonElement convertJson(@Nullable final JsonElement element, final SerializerVersion from, final SerializerVersion to) {
-        return element != null ? convert(from, to, from.jsonSerializer.deserialize(element)) : null;
+        if (element == null) {
+            return null;
+        }
+
+        final ConversionKey key = new ConversionKey(element.toString(), from, to, false);
+        final JsonElement cached = (JsonElement) CONVERSION_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached.deepCopy();
+        }
+        return cache(key, convert(from, to, from.jsonSerializer.deserialize(element)));
     }
 
     public static @Nullable JsonElement convertJson(@Nullable final String json, final SerializerVersion from, final SerializerVersion to) {
-        return json != null ? convert(from, to, from.jsonSerializer.deserializeReader(json)) : null;
+        if (json == null) {
+            return null;
+        }
+
+        final ConversionKey key = new ConversionKey(json, from, to, false);
+        final JsonElement cached = (JsonElement) CONVERSION_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached.deepCopy();
+        }
+        return cache(key, convert(from, to, from.jsonSerializer.deserializeReader(json)));
     }
 
     private static JsonElement convert(final SerializerVersion from, final SerializerVersion to, final ATextComponent component) {
@@ -114,7 +157,26 @@ public final class ComponentUtil {
     }
 
     public static JsonElement legacyToJson(final String message) {
-        return SerializerVersion.V1_12.toJson(LegacyStringDeserializer.parse(message, true));
+        final ConversionKey key = new ConversionKey(message, null, SerializerVersion.V1_12, false);
+        final JsonElement cached = (JsonElement) CONVERSION_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached.deepCopy();
+        }
+        return cache(key, SerializerVersion.V1_12.toJson(LegacyStringDeserializer.parse(message, true)));
+    }
+
+    private static JsonElement cache(final ConversionKey key, final JsonElement converted) {
+        CONVERSION_CACHE.put(key, converted.deepCopy());
+        return converted;
+    }
+
+    /**
+     * Returns the statistics of the cache holding converted components, including its hit rate.
+     *
+     * @return conversion cache statistics
+     */
+    public static CacheStats conversionCacheStats() {
+        return CONVERSION_CACHE.stats();
     }
 
     public static String legacyToJsonString(final String message) {
@@ -137,6 +199,35 @@ public final class ComponentUtil {
         return TextComponentSerializer.V1_12.deserialize(value).asLegacyFormatString();
     }
 
+    private static final class ConversionKey {
+        private final String source;
+        private final SerializerVersion from;
+        private final SerializerVersion to;
+        private final boolean tag;
+        private final int hashCode;
+
+        private ConversionKey(final String source, final @Nullable SerializerVersion from, final SerializerVersion to, final boolean tag) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.tag = tag;
+            this.hashCode = 31 * (31 * (31 * source.hashCode() + Objects.hashCode(from)) + to.hashCode()) + Boolean.hashCode(tag);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final ConversionKey that = (ConversionKey) o;
+            return hashCode == that.hashCode && tag == that.tag && from == that.from && to == that.to && source.equals(that.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     public enum SerializerVersion {
         V1_8(TextComponentSerializer.V1_8, SNbtSerializer.V1_8),
         V1_9(TextComponentSerializer.V1_9, SNbtSerializer.V1_8),
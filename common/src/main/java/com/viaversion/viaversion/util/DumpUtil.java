@@ -17,13 +17,23 @@
  */
 package com.viaversion.viaversion.util;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.io.CharStreams;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.MappingData;
+import com.viaversion.viaversion.api.data.MappingDataLoader;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
 import com.viaversion.viaversion.dump.DumpTemplate;
 import com.viaversion.viaversion.dump.VersionInfo;
 import java.io.IOException;
@@ -45,6 +55,7 @@ import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class DumpUtil {
+    private static final int MAX_DUMPED_TRANSFORM_METRICS = 50;
 
     /**
      * Creates a platform dump and posts it to ViaVersion's dump server asychronously.
@@ -66,7 +77,7 @@ public final class DumpUtil {
                 Via.getManager().getSubPlatforms()
         );
         final Map<String, Object> configuration = ((Config) Via.getConfig()).getValues();
-        final DumpTemplate template = new DumpTemplate(version, configuration, Via.getPlatform().getDump(), Via.getManager().getInjector().getDump(), getPlayerSample(playerToSample));
+        final DumpTemplate template = new DumpTemplate(version, configuration, Via.getPlatform().getDump(), Via.getManager().getInjector().getDump(), getPlayerSample(playerToSample), getMappingDataUsage(), getTransformMetrics());
         final CompletableFuture<String> result = new CompletableFuture<>();
         Via.getPlatform().runAsync(() -> {
             final HttpURLConnection con;
@@ -175,9 +186,108 @@ public final class DumpUtil {
             playerSample.add("pipeline-" + i++, senderPipeline);
         }
 
+        playerSample.add("storage", getConnectionStorage());
         return playerSample;
     }
 
+    private static JsonObject getConnectionStorage() {
+        // Number of connections holding each stored object and entity tracker type, and the fixed heap cost of their tables
+        final JsonObject storage = new JsonObject();
+        final Map<String, Integer> storedTypes = new TreeMap<>();
+        long tableBytes = 0;
+        int connections = 0;
+        for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
+            for (final StorableObject object : connection.getStoredObjects().values()) {
+                storedTypes.merge(object.getClass().getSimpleName(), 1, Integer::sum);
+            }
+            for (final EntityTracker tracker : connection.getEntityTrackers()) {
+                storedTypes.merge(tracker.getClass().getSimpleName(), 1, Integer::sum);
+            }
+            if (connection instanceof UserConnectionImpl) {
+                tableBytes += ((UserConnectionImpl) connection).storageHeapSize();
+            }
+            connections++;
+        }
+
+        storage.addProperty("table-bytes-per-connection", connections != 0 ? tableBytes / connections : 0);
+        final JsonObject types = new JsonObject();
+        for (final Map.Entry<String, Integer> entry : storedTypes.entrySet()) {
+            types.addProperty(entry.getKey(), entry.getValue());
+        }
+        storage.add("types", types);
+        return storage;
+    }
+
+    private static JsonObject getMappingDataUsage() {
+        // Estimated heap usage of mapped ids per protocol in bytes
+        final JsonObject mappingData = new JsonObject();
+        long total = 0;
+        for (final Protocol<?, ?, ?, ?> protocol : Via.getManager().getProtocolManager().getProtocols()) {
+            final MappingData data = protocol.getMappingData();
+            if (data == null) {
+                continue;
+            }
+
+            final long heapSize = heapSize(data.getItemMappings()) + heapSize(data.getParticleMappings())
+                    + heapSize(data.getBlockMappings()) + heapSize(data.getBlockEntityMappings())
+                    + heapSize(data.getBlockStateMappings()) + heapSize(data.getSoundMappings())
+                    + heapSize(data.getStatisticsMappings()) + heapSize(data.getMenuMappings())
+                    + heapSize(data.getEnchantmentMappings()) + heapSize(data.getEntityMappings())
+                    + heapSize(data.getArgumentTypeMappings()) + heapSize(data.getPaintingMappings());
+            if (heapSize != 0) {
+                mappingData.addProperty(protocol.getClass().getSimpleName(), heapSize);
+                total += heapSize;
+            }
+        }
+
+        mappingData.addProperty("total", total);
+        mappingData.addProperty("saved-by-sharing", MappingDataLoader.sharedArrayBytes());
+        return mappingData;
+    }
+
+    private static JsonObject getTransformMetrics() {
+        // Most expensive transformations per protocol and packet, if they have been recorded
+        final JsonObject metrics = new JsonObject();
+        final TransformMetrics transformMetrics = Via.getManager().transformMetrics();
+        metrics.addProperty("enabled", transformMetrics.enabled());
+        final JsonArray entries = new JsonArray();
+        for (final TransformMetrics.Entry entry : transformMetrics.entries()) {
+            if (entries.size() == MAX_DUMPED_TRANSFORM_METRICS) {
+                break;
+            }
+
+            final JsonObject object = new JsonObject();
+            object.addProperty("protocol", entry.protocolClass().getSimpleName());
+            object.addProperty("direction", entry.direction().name());
+            object.addProperty("state", entry.state().name());
+            object.addProperty("packet", entry.packetType() != null ? entry.packetType().getName() : AbstractProtocol.toNiceHex(entry.packetId()));
+            object.addProperty("count", entry.count());
+            object.addProperty("cancelled", entry.cancelled());
+            object.addProperty("failed", entry.failed());
+            object.addProperty("id-rewritten", entry.idRewritten());
+            object.addProperty("cached", entry.cached());
+            object.addProperty("bytes-in", entry.bytesIn());
+            object.addProperty("bytes-out", entry.bytesOut());
+            object.addProperty("nanos", entry.nanos());
+            object.addProperty("p50-nanos", entry.percentileNanos(0.5));
+            object.addProperty("p99-nanos", entry.percentileNanos(0.99));
+            entries.add(object);
+        }
+        metrics.add("entries", entries);
+
+        final CacheStats cacheStats = ComponentUtil.conversionCacheStats();
+        final JsonObject componentCache = new JsonObject();
+        componentCache.addProperty("hits", cacheStats.hitCount());
+        componentCache.addProperty("misses", cacheStats.missCount());
+        componentCache.addProperty("evictions", cacheStats.evictionCount());
+        metrics.add("component-cache", componentCache);
+        return metrics;
+    }
+
+    private static long heapSize(@Nullable final Mappings mappings) {
+        return mappings != null ? mappings.heapSize() : 0;
+    }
+
     public static final class DumpException extends RuntimeException {
         private final DumpErrorType errorType;
 
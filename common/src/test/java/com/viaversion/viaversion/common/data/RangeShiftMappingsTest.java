@@ -0,0 +1,93 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.data;
+
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.data.RangeShiftMappings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RangeShiftMappingsTest {
+    private static final int[] MAPPINGS = {0, 1, 2, 4, 5, -1, -1, 6, 7, 7};
+
+    @Test
+    public void testGetNewId() {
+        final RangeShiftMappings mappings = RangeShiftMappings.of(MAPPINGS, 8, 8);
+        Assertions.assertNotNull(mappings);
+        Assertions.assertEquals(5, mappings.ranges());
+        for (int id = 0; id < MAPPINGS.length; id++) {
+            Assertions.assertEquals(MAPPINGS[id], mappings.getNewId(id));
+        }
+        Assertions.assertEquals(-1, mappings.getNewId(-1));
+        Assertions.assertEquals(-1, mappings.getNewId(MAPPINGS.length));
+    }
+
+    @Test
+    public void testTooManyRanges() {
+        Assertions.assertNull(RangeShiftMappings.of(MAPPINGS, 8, 4));
+    }
+
+    @Test
+    public void testSetNewId() {
+        final RangeShiftMappings mappings = RangeShiftMappings.of(MAPPINGS, 8, 8);
+        Assertions.assertNotNull(mappings);
+        mappings.setNewId(1, 3);
+        mappings.setNewId(5, 0);
+        mappings.setNewId(9, -1);
+
+        final int[] expected = MAPPINGS.clone();
+        expected[1] = 3;
+        expected[5] = 0;
+        expected[9] = -1;
+        for (int id = 0; id < expected.length; id++) {
+            Assertions.assertEquals(expected[id], mappings.getNewId(id));
+        }
+    }
+
+    @Test
+    public void testExpandAfterManyChanges() {
+        final int[] array = new int[100];
+        for (int id = 0; id < array.length; id++) {
+            array[id] = id + 1;
+        }
+
+        final RangeShiftMappings mappings = RangeShiftMappings.of(array, 101, 8);
+        Assertions.assertNotNull(mappings);
+        Assertions.assertEquals(1, mappings.ranges());
+        for (int id = 0; id < array.length; id += 3) {
+            mappings.setNewId(id, 0);
+            array[id] = 0;
+        }
+
+        Assertions.assertEquals(-1, mappings.ranges());
+        for (int id = 0; id < array.length; id++) {
+            Assertions.assertEquals(array[id], mappings.getNewId(id));
+        }
+    }
+
+    @Test
+    public void testInverse() {
+        final RangeShiftMappings mappings = RangeShiftMappings.of(MAPPINGS, 8, 8);
+        Assertions.assertNotNull(mappings);
+        final Mappings inverse = mappings.inverse();
+        final int[] expected = {0, 1, 2, -1, 3, 4, 7, 8};
+        for (int id = 0; id < expected.length; id++) {
+            Assertions.assertEquals(expected[id], inverse.getNewId(id));
+        }
+    }
+}
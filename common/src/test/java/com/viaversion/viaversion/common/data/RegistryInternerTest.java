@@ -0,0 +1,91 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.data;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.viaversion.viaversion.data.RegistryInterner;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RegistryInternerTest {
+
+    @Test
+    void testEqualRegistriesShareInstance() {
+        // Decoded separately for two connections
+        final CompoundTag first = RegistryInterner.intern(dimensionRegistry(384));
+        final CompoundTag second = RegistryInterner.intern(dimensionRegistry(384));
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    void testDifferentRegistriesStayDistinct() {
+        final CompoundTag first = RegistryInterner.intern(dimensionRegistry(384));
+        final CompoundTag second = RegistryInterner.intern(dimensionRegistry(256));
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertEquals(dimensionRegistry(256), second);
+    }
+
+    @Test
+    void testSourceMutationDoesNotAffectCanonical() {
+        final CompoundTag source = dimensionRegistry(320);
+        final CompoundTag canonical = RegistryInterner.intern(source);
+        Assertions.assertNotSame(source, canonical);
+
+        source.put("modified", new IntTag(1));
+        source.getListTag("value", CompoundTag.class).get(0).getCompoundTag("element").put("height", new IntTag(0));
+        Assertions.assertEquals(dimensionRegistry(320), canonical);
+        Assertions.assertSame(canonical, RegistryInterner.intern(dimensionRegistry(320)));
+    }
+
+    @Test
+    void testMaps() {
+        final Map<String, Integer> source = new HashMap<>();
+        source.put("minecraft:overworld", 384);
+        source.put("minecraft:the_nether", 256);
+        final Map<String, Integer> canonical = RegistryInterner.intern(source);
+        Assertions.assertSame(canonical, RegistryInterner.intern(new HashMap<>(source)));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> canonical.put("minecraft:the_end", 256));
+
+        source.put("minecraft:the_end", 256);
+        Assertions.assertEquals(2, canonical.size());
+        Assertions.assertNotSame(canonical, RegistryInterner.intern(source));
+    }
+
+    private static CompoundTag dimensionRegistry(final int height) {
+        final CompoundTag element = new CompoundTag();
+        element.put("height", new IntTag(height));
+        element.put("effects", new StringTag("minecraft:overworld"));
+        final CompoundTag dimension = new CompoundTag();
+        dimension.put("name", new StringTag("minecraft:overworld"));
+        dimension.put("id", new IntTag(0));
+        dimension.put("element", element);
+
+        final ListTag<CompoundTag> dimensions = new ListTag<>(CompoundTag.class);
+        dimensions.add(dimension);
+        final CompoundTag registry = new CompoundTag();
+        registry.put("type", new StringTag("minecraft:dimension_type"));
+        registry.put("value", dimensions);
+        return registry;
+    }
+}
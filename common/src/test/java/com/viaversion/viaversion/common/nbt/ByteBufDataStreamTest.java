@@ -0,0 +1,180 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.nbt;
+
+import com.github.steveice10.opennbt.tag.builtin.ByteArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.ByteTag;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.DoubleTag;
+import com.github.steveice10.opennbt.tag.builtin.FloatTag;
+import com.github.steveice10.opennbt.tag.builtin.IntArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.LongArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.LongTag;
+import com.github.steveice10.opennbt.tag.builtin.ShortTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.github.steveice10.opennbt.tag.limiter.TagLimiter;
+import com.viaversion.viaversion.api.minecraft.nbt.ByteBufDataInput;
+import com.viaversion.viaversion.api.minecraft.nbt.ByteBufDataOutput;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the buffer based data input and output with the stream based ones used by the NBT codec.
+ */
+class ByteBufDataStreamTest {
+    private static final String[] STRINGS = {
+            "",
+            "minecraft:stone",
+            "\u0000",
+            "\u00dcn\u00efc\u00f6d\u00e9 \u20ac name",
+            "\u007f\u0080\u07ff\u0800\uffff",
+            "\ud83e\uddfd", // Sponge Emoji as a surrogate pair
+            "\uD83E", // Unpaired surrogate
+            repeat('a', 0xFFFF),
+            repeat('\u00e9', 0xFFFF / 2)
+    };
+
+    @Test
+    void testTagRoundTrip() throws IOException {
+        final CompoundTag tag = new CompoundTag();
+        tag.put("byte", new ByteTag((byte) -1));
+        tag.put("short", new ShortTag((short) 300));
+        tag.put("int", new IntTag(Integer.MIN_VALUE));
+        tag.put("long", new LongTag(Long.MAX_VALUE));
+        tag.put("float", new FloatTag(0.1F));
+        tag.put("double", new DoubleTag(-Double.MIN_VALUE));
+        tag.put("bytes", new ByteArrayTag(new byte[]{1, -2, 3}));
+        tag.put("ints", new IntArrayTag(new int[]{1, -2, 3}));
+        tag.put("longs", new LongArrayTag(new long[]{1, -2, 3}));
+
+        final ListTag<StringTag> strings = new ListTag<>(StringTag.class);
+        for (final String string : STRINGS) {
+            strings.add(new StringTag(string));
+        }
+        tag.put("strings", strings);
+
+        final CompoundTag nested = new CompoundTag();
+        nested.put("\u20ac", new StringTag("\u0000 value"));
+        final ListTag<CompoundTag> compounds = new ListTag<>(CompoundTag.class);
+        compounds.add(nested);
+        compounds.add(new CompoundTag());
+        tag.put("compounds", compounds);
+
+        final ByteArrayOutputStream streamBytes = new ByteArrayOutputStream();
+        tag.write(new DataOutputStream(streamBytes));
+        final ByteBuf buf = Unpooled.buffer();
+        tag.write(new ByteBufDataOutput(buf));
+        Assertions.assertArrayEquals(streamBytes.toByteArray(), readableBytes(buf));
+
+        final DataInputStream streamInput = new DataInputStream(new ByteArrayInputStream(readableBytes(buf)));
+        final CompoundTag streamTag = CompoundTag.read(streamInput, tagLimiter(), 0);
+        Assertions.assertEquals(0, streamInput.available());
+        final CompoundTag bufTag = CompoundTag.read(new ByteBufDataInput(buf), tagLimiter(), 0);
+        Assertions.assertFalse(buf.isReadable());
+
+        // Both reads have to result in the same tag as the one originally written
+        Assertions.assertArrayEquals(streamBytes.toByteArray(), toBytes(streamTag));
+        Assertions.assertArrayEquals(streamBytes.toByteArray(), toBytes(bufTag));
+    }
+
+    @Test
+    void testUTFRoundTrip() throws IOException {
+        for (final String string : STRINGS) {
+            final ByteArrayOutputStream streamBytes = new ByteArrayOutputStream();
+            new DataOutputStream(streamBytes).writeUTF(string);
+            final ByteBuf buf = Unpooled.buffer();
+            ByteBufDataOutput.writeUTF(buf, string);
+            Assertions.assertArrayEquals(streamBytes.toByteArray(), readableBytes(buf));
+
+            buf.writeByte(1); // Must not be read
+            Assertions.assertEquals(string, ByteBufDataInput.readUTF(buf));
+            Assertions.assertEquals(1, buf.readableBytes());
+        }
+    }
+
+    @Test
+    void testUTFTooLong() {
+        final String string = repeat('\u20ac', 0xFFFF / 3 + 1);
+        Assertions.assertThrows(UTFDataFormatException.class, () -> new DataOutputStream(new ByteArrayOutputStream()).writeUTF(string));
+        final ByteBuf buf = Unpooled.buffer();
+        Assertions.assertThrows(UTFDataFormatException.class, () -> ByteBufDataOutput.writeUTF(buf, string));
+        Assertions.assertFalse(buf.isReadable());
+    }
+
+    @Test
+    void testMalformedUTF() {
+        final byte[][] inputs = {
+                {0, 1, (byte) 0xC3}, // Partial two byte character
+                {0, 2, (byte) 0xE2, (byte) 0x82}, // Partial three byte character
+                {0, 2, (byte) 0xC3, 0x41}, // Invalid continuation byte
+                {0, 1, (byte) 0x80}, // Unexpected continuation byte
+                {0, 1, (byte) 0xF0} // Four byte characters are not part of modified UTF-8
+        };
+        for (final byte[] input : inputs) {
+            Assertions.assertThrows(UTFDataFormatException.class, () -> new DataInputStream(new ByteArrayInputStream(input)).readUTF());
+            Assertions.assertThrows(UTFDataFormatException.class, () -> ByteBufDataInput.readUTF(Unpooled.wrappedBuffer(input)));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testReadLine() throws IOException {
+        final byte[] input = "first\nsecond\r\nthird\rfourth\u00e9\n\nlast".getBytes(StandardCharsets.ISO_8859_1);
+        final DataInputStream stream = new DataInputStream(new ByteArrayInputStream(input));
+        final ByteBufDataInput bufInput = new ByteBufDataInput(Unpooled.wrappedBuffer(input));
+        String line;
+        do {
+            line = stream.readLine();
+            Assertions.assertEquals(line, bufInput.readLine());
+        } while (line != null);
+    }
+
+    private static byte[] toBytes(final CompoundTag tag) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tag.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] readableBytes(final ByteBuf buf) {
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+
+    private static TagLimiter tagLimiter() {
+        return TagLimiter.create(Integer.MAX_VALUE, 512);
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
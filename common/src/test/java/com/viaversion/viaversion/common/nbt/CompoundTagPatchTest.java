@@ -0,0 +1,68 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.nbt;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.viaversion.viaversion.api.minecraft.nbt.CompoundTagPatch;
+import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompoundTagPatchTest {
+
+    @Test
+    void testPatch() throws IOException {
+        final CompoundTag display = new CompoundTag();
+        display.put("Name", new StringTag("\u00dcn\u00efc\u00f6d\u00e9 \u20ac \u0000 name"));
+        display.put("Color", new IntTag(5));
+        final CompoundTag tag = new CompoundTag();
+        tag.put("display", display);
+        tag.put("Damage", new IntTag(3));
+        tag.put("Unbreakable", new IntTag(1));
+        tag.put("id", new StringTag("minecraft:stone"));
+
+        final ByteBuf input = Unpooled.buffer();
+        Type.NAMED_COMPOUND_TAG.write(input, tag);
+        final ByteBuf output = Unpooled.buffer();
+        final CompoundTagPatch patch = new CompoundTagPatch()
+                .rename("Damage", "damage")
+                .remove("Unbreakable")
+                .replace("id", id -> new StringTag(((StringTag) id).getValue().replace("stone", "dirt")))
+                .put("added", new IntTag(7));
+        patch.compound("display").rename("Color", "color");
+        patch.apply(input, output, true);
+        Assertions.assertFalse(input.isReadable());
+
+        final CompoundTag patched = Type.NAMED_COMPOUND_TAG.read(output);
+        Assertions.assertFalse(output.isReadable());
+        Assertions.assertEquals(4, patched.getValue().size());
+        Assertions.assertEquals(3, ((IntTag) patched.get("damage")).asInt());
+        Assertions.assertNull(patched.get("Unbreakable"));
+        Assertions.assertEquals("minecraft:dirt", ((StringTag) patched.get("id")).getValue());
+        Assertions.assertEquals(7, ((IntTag) patched.get("added")).asInt());
+
+        final CompoundTag patchedDisplay = (CompoundTag) patched.get("display");
+        Assertions.assertEquals("\u00dcn\u00efc\u00f6d\u00e9 \u20ac \u0000 name", ((StringTag) patchedDisplay.get("Name")).getValue());
+        Assertions.assertEquals(5, ((IntTag) patchedDisplay.get("color")).asInt());
+    }
+}
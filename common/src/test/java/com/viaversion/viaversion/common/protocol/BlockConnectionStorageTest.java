@@ -0,0 +1,107 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.protocols.protocol1_13to1_12_2.storage.BlockConnectionStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class BlockConnectionStorageTest {
+    private static final int SECTION_SIZE = 4096;
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    void testPaletteGrowth() {
+        final BlockConnectionStorage storage = new BlockConnectionStorage();
+        // 255 states plus air fill the palette at 8 bits, growing the packed entries one bit at a time
+        for (int i = 0; i < 255; i++) {
+            storage.store(x(i), y(i), z(i), 1000 + i);
+            for (int j = 0; j <= i; j++) {
+                Assertions.assertEquals(1000 + j, storage.get(x(j), y(j), z(j)));
+            }
+        }
+
+        // Reuse palette entries for the rest of the section
+        for (int i = 255; i < SECTION_SIZE; i++) {
+            storage.store(x(i), y(i), z(i), 1000 + i % 255);
+        }
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            Assertions.assertEquals(1000 + i % 255, storage.get(x(i), y(i), z(i)));
+        }
+    }
+
+    @Test
+    void testDirectStatesFallback() {
+        final BlockConnectionStorage storage = new BlockConnectionStorage();
+        // More than 256 states including air no longer fit into 8 bits
+        for (int i = 0; i < 300; i++) {
+            storage.store(x(i), y(i), z(i), 1000 + i);
+        }
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            Assertions.assertEquals(i < 300 ? 1000 + i : 0, storage.get(x(i), y(i), z(i)));
+        }
+
+        storage.store(x(0), y(0), z(0), 5000);
+        storage.remove(x(1), y(1), z(1));
+        Assertions.assertEquals(5000, storage.get(x(0), y(0), z(0)));
+        Assertions.assertEquals(0, storage.get(x(1), y(1), z(1)));
+        Assertions.assertEquals(1002, storage.get(x(2), y(2), z(2)));
+
+        // Removing every block drops the section
+        for (int i = 0; i < 300; i++) {
+            storage.remove(x(i), y(i), z(i));
+        }
+        storage.store(x(3), y(3), z(3), 7);
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            Assertions.assertEquals(i == 3 ? 7 : 0, storage.get(x(i), y(i), z(i)));
+        }
+    }
+
+    @Test
+    void testSectionsAreSeparate() {
+        final BlockConnectionStorage storage = new BlockConnectionStorage();
+        storage.store(0, 0, 0, 1);
+        storage.store(16, 0, 0, 2);
+        storage.store(-1, 255, -1, 3);
+        Assertions.assertEquals(1, storage.get(0, 0, 0));
+        Assertions.assertEquals(2, storage.get(16, 0, 0));
+        Assertions.assertEquals(3, storage.get(-1, 255, -1));
+
+        storage.unloadChunk(1, 0);
+        Assertions.assertEquals(0, storage.get(16, 0, 0));
+        Assertions.assertEquals(1, storage.get(0, 0, 0));
+    }
+
+    private static int x(final int index) {
+        return (index >> 4) & 0xF;
+    }
+
+    private static int y(final int index) {
+        return index >> 8;
+    }
+
+    private static int z(final int index) {
+        return index & 0xF;
+    }
+}
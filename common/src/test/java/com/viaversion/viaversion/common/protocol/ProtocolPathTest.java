@@ -0,0 +1,95 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.protocols.protocol1_20_3to1_20_2.Protocol1_20_3To1_20_2;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ProtocolPathTest {
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    void testDirectPath() {
+        final List<ProtocolPathEntry> path = protocolManager().getProtocolPath(ProtocolVersion.v1_20_3.getVersion(), ProtocolVersion.v1_20_2.getVersion());
+        Assertions.assertNotNull(path);
+        Assertions.assertEquals(1, path.size());
+        Assertions.assertEquals(Protocol1_20_3To1_20_2.class, path.get(0).protocol().getClass());
+        Assertions.assertEquals(ProtocolVersion.v1_20_2.getVersion(), path.get(0).outputProtocolVersion());
+    }
+
+    @Test
+    void testChainedPath() {
+        assertConnectedPath(ProtocolVersion.v1_20_3, ProtocolVersion.v1_8);
+        assertConnectedPath(ProtocolVersion.v1_16_4, ProtocolVersion.v1_12_2);
+
+        // 1.9.1 and 1.9.2 share a protocol to 1.9
+        final List<ProtocolPathEntry> path = assertConnectedPath(ProtocolVersion.v1_9_3, ProtocolVersion.v1_9);
+        Assertions.assertEquals(2, path.size());
+    }
+
+    @Test
+    void testNoPath() {
+        Assertions.assertNull(protocolManager().getProtocolPath(ProtocolVersion.v1_8.getVersion(), ProtocolVersion.v1_20_3.getVersion()));
+        Assertions.assertNull(protocolManager().getProtocolPath(ProtocolVersion.v1_20_3.getVersion(), ProtocolVersion.v1_20_3.getVersion()));
+    }
+
+    @Test
+    void testMaxPathSize() {
+        final ProtocolManager protocolManager = protocolManager();
+        final int maxProtocolPathSize = protocolManager.getMaxProtocolPathSize();
+        try {
+            // Paths with at most the maximum size are still extended by one entry
+            protocolManager.setMaxProtocolPathSize(2);
+            Assertions.assertEquals(2, assertConnectedPath(ProtocolVersion.v1_20_3, ProtocolVersion.v1_20).size());
+            Assertions.assertEquals(3, assertConnectedPath(ProtocolVersion.v1_20_3, ProtocolVersion.v1_19_4).size());
+            Assertions.assertNull(protocolManager.getProtocolPath(ProtocolVersion.v1_20_3.getVersion(), ProtocolVersion.v1_19_3.getVersion()));
+        } finally {
+            protocolManager.setMaxProtocolPathSize(maxProtocolPathSize);
+        }
+        Assertions.assertEquals(4, assertConnectedPath(ProtocolVersion.v1_20_3, ProtocolVersion.v1_19_3).size());
+    }
+
+    private List<ProtocolPathEntry> assertConnectedPath(final ProtocolVersion clientVersion, final ProtocolVersion serverVersion) {
+        final List<ProtocolPathEntry> path = protocolManager().getProtocolPath(clientVersion.getVersion(), serverVersion.getVersion());
+        Assertions.assertNotNull(path);
+
+        int version = clientVersion.getVersion();
+        for (final ProtocolPathEntry entry : path) {
+            Assertions.assertSame(protocolManager().getProtocol(version, entry.outputProtocolVersion()), entry.protocol());
+            version = entry.outputProtocolVersion();
+        }
+        Assertions.assertEquals(serverVersion.getVersion(), version);
+        return path;
+    }
+
+    private ProtocolManager protocolManager() {
+        return Via.getManager().getProtocolManager();
+    }
+}
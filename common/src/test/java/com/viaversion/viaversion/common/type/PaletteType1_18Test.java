@@ -0,0 +1,190 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.type;
+
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PackedDataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.types.chunk.PaletteType1_18;
+import com.viaversion.viaversion.util.CompactArrayUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PaletteType1_18Test {
+    private static final int GLOBAL_BITS = 15;
+    private static final PaletteType1_18 BLOCKS = new PaletteType1_18(PaletteType.BLOCKS, GLOBAL_BITS);
+    private static final PaletteType1_18 BIOMES = new PaletteType1_18(PaletteType.BIOMES, 6);
+
+    @Test
+    public void testReplaceIdKeepsPackedValues() throws Exception {
+        // 4, 5, and 8 bits per entry
+        for (final int paletteSize : new int[]{2, 16, 17, 256}) {
+            final int[] ids = sectionIds(PaletteType.BLOCKS, paletteSize);
+            final DataPalette palette = read(BLOCKS, section(PaletteType.BLOCKS, ids, bitsFor(PaletteType.BLOCKS, paletteSize)));
+            Assertions.assertTrue(palette instanceof PackedDataPalette);
+
+            palette.replaceId(1000, 5000);
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == 1000) {
+                    ids[i] = 5000;
+                }
+            }
+            Assertions.assertNotNull(((PackedDataPalette) palette).packedValues());
+
+            final ByteBuf buf = Unpooled.buffer();
+            BLOCKS.write(buf, palette);
+            Assertions.assertEquals(bitsFor(PaletteType.BLOCKS, paletteSize), buf.getByte(buf.readerIndex()));
+            assertIds(ids, read(BLOCKS, buf));
+        }
+    }
+
+    @Test
+    public void testSetIdAtWithinPalette() throws Exception {
+        final int[] ids = sectionIds(PaletteType.BLOCKS, 16);
+        final DataPalette palette = read(BLOCKS, section(PaletteType.BLOCKS, ids, 4));
+
+        palette.setIdAt(0, ids[ids.length - 1]);
+        ids[0] = ids[ids.length - 1];
+        Assertions.assertNull(((PackedDataPalette) palette).packedValues());
+        Assertions.assertEquals(16, palette.size());
+        assertIds(ids, writeAndRead(BLOCKS, palette, 4));
+    }
+
+    @Test
+    public void testSetIdAtResizesPalette() throws Exception {
+        // 16 -> 17 entries needs 5 bits, 256 -> 257 entries switches to the global palette
+        final int[][] resizes = {{16, 5}, {32, 6}, {256, GLOBAL_BITS}};
+        for (final int[] resize : resizes) {
+            final int paletteSize = resize[0];
+            final int[] ids = sectionIds(PaletteType.BLOCKS, paletteSize);
+            final DataPalette palette = read(BLOCKS, section(PaletteType.BLOCKS, ids, bitsFor(PaletteType.BLOCKS, paletteSize)));
+
+            palette.setIdAt(ids.length - 1, 9999);
+            ids[ids.length - 1] = 9999;
+            Assertions.assertEquals(paletteSize + 1, palette.size());
+            assertIds(ids, writeAndRead(BLOCKS, palette, resize[1]));
+        }
+    }
+
+    @Test
+    public void testGlobalPaletteRoundTrip() throws Exception {
+        final int[] ids = sectionIds(PaletteType.BLOCKS, 300);
+        final DataPalette palette = read(BLOCKS, section(PaletteType.BLOCKS, ids, GLOBAL_BITS));
+        Assertions.assertFalse(palette instanceof PackedDataPalette);
+
+        palette.setIdAt(1, 7);
+        ids[1] = 7;
+        assertIds(ids, writeAndRead(BLOCKS, palette, GLOBAL_BITS));
+    }
+
+    @Test
+    public void testBiomesResize() throws Exception {
+        // 1 bit biome palettes are valid, 8 -> 9 entries switches to the global palette
+        final int[] ids = sectionIds(PaletteType.BIOMES, 2);
+        DataPalette palette = read(BIOMES, section(PaletteType.BIOMES, ids, 1));
+        palette.replaceId(1001, 3);
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == 1001) {
+                ids[i] = 3;
+            }
+        }
+        palette = writeAndRead(BIOMES, palette, 1);
+        assertIds(ids, palette);
+
+        for (int i = 0; i < 7; i++) {
+            palette.setIdAt(i, 10 + i);
+            ids[i] = 10 + i;
+        }
+        assertIds(ids, writeAndRead(BIOMES, palette, 6));
+    }
+
+    @Test
+    public void testSingleValue() throws Exception {
+        final int[] ids = sectionIds(PaletteType.BLOCKS, 2);
+        final DataPalette palette = read(BLOCKS, section(PaletteType.BLOCKS, ids, 4));
+        for (int i = 0; i < ids.length; i++) {
+            palette.setIdAt(i, 1000);
+            ids[i] = 1000;
+        }
+        palette.clear();
+        palette.addId(1000);
+        assertIds(ids, writeAndRead(BLOCKS, palette, 0));
+    }
+
+    private static int bitsFor(final PaletteType type, final int paletteSize) {
+        final int bits = Math.max(type == PaletteType.BLOCKS ? 4 : 1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+        return bits > type.highestBitsPerValue() ? GLOBAL_BITS : bits;
+    }
+
+    /**
+     * Returns section ids using every palette entry, with ids 1000 to 1000 + paletteSize - 1.
+     */
+    private static int[] sectionIds(final PaletteType type, final int paletteSize) {
+        final int[] ids = new int[type.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1000 + (i * 31) % paletteSize;
+        }
+        return ids;
+    }
+
+    private static ByteBuf section(final PaletteType type, final int[] ids, final int bitsPerValue) throws Exception {
+        final ByteBuf buf = Unpooled.buffer();
+        buf.writeByte(bitsPerValue);
+        if (bitsPerValue == GLOBAL_BITS) {
+            Type.LONG_ARRAY_PRIMITIVE.write(buf, CompactArrayUtil.createCompactArrayWithPadding(bitsPerValue, type.size(), i -> ids[i]));
+            return buf;
+        }
+
+        // Palette entries in order of first appearance
+        final int[] palette = IntStream.of(ids).distinct().toArray();
+        Type.VAR_INT.writePrimitive(buf, palette.length);
+        Type.VAR_INT.writePrimitives(buf, palette);
+        Type.LONG_ARRAY_PRIMITIVE.write(buf, CompactArrayUtil.createCompactArrayWithPadding(bitsPerValue, type.size(), i -> {
+            for (int index = 0; index < palette.length; index++) {
+                if (palette[index] == ids[i]) {
+                    return index;
+                }
+            }
+            throw new IllegalArgumentException();
+        }));
+        return buf;
+    }
+
+    private static DataPalette read(final PaletteType1_18 type, final ByteBuf buf) throws Exception {
+        final DataPalette palette = type.read(buf);
+        Assertions.assertFalse(buf.isReadable());
+        return palette;
+    }
+
+    private static DataPalette writeAndRead(final PaletteType1_18 type, final DataPalette palette, final int expectedBits) throws Exception {
+        final ByteBuf buf = Unpooled.buffer();
+        type.write(buf, palette);
+        Assertions.assertEquals(expectedBits, buf.getByte(buf.readerIndex()));
+        return read(type, buf);
+    }
+
+    private static void assertIds(final int[] expected, final DataPalette palette) {
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], palette.idAt(i), "index " + i);
+        }
+    }
+}
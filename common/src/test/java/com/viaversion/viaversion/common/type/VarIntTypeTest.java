@@ -0,0 +1,95 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.type;
+
+import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VarIntTypeTest {
+    private static final int[] VALUES = {0, 1, 127, 128, 255, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+
+    @Test
+    public void testVarIntWrite() {
+        final ByteBuf buf = Unpooled.buffer();
+        Type.VAR_INT.writePrimitive(buf, 300);
+        Type.VAR_INT.writePrimitive(buf, -1);
+        Assertions.assertEquals("ac02ffffffff0f", ByteBufUtil.hexDump(buf));
+    }
+
+    @Test
+    public void testVarIntRoundTrip() {
+        for (final int value : VALUES) {
+            // Both at the end of the buffer and with enough bytes following it
+            final ByteBuf buf = Unpooled.buffer();
+            Type.VAR_INT.writePrimitive(buf, value);
+            Assertions.assertEquals(Type.VAR_INT.varIntLength(value), buf.readableBytes());
+            buf.writeZero(5);
+            Assertions.assertEquals(value, Type.VAR_INT.readPrimitive(buf));
+            Assertions.assertEquals(5, buf.readableBytes());
+
+            buf.clear();
+            Type.VAR_INT.writePrimitive(buf, value);
+            Assertions.assertEquals(value, Type.VAR_INT.readPrimitive(buf));
+            Assertions.assertFalse(buf.isReadable());
+        }
+    }
+
+    @Test
+    public void testVarIntArrayRoundTrip() {
+        final ByteBuf buf = Unpooled.buffer();
+        Type.VAR_INT.writePrimitives(buf, VALUES);
+        final ByteBuf expected = Unpooled.buffer();
+        for (final int value : VALUES) {
+            Type.VAR_INT.writePrimitive(expected, value);
+        }
+        Assertions.assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(buf));
+
+        final int[] read = new int[VALUES.length];
+        Type.VAR_INT.readPrimitives(buf, read);
+        Assertions.assertArrayEquals(VALUES, read);
+        Assertions.assertFalse(buf.isReadable());
+    }
+
+    @Test
+    public void testVarIntTooBig() {
+        final ByteBuf buf = Unpooled.buffer();
+        buf.writeBytes(new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x01, 0, 0, 0, 0});
+        Assertions.assertThrows(RuntimeException.class, () -> Type.VAR_INT.readPrimitive(buf));
+    }
+
+    @Test
+    public void testVarLongRoundTrip() {
+        final long[] values = {0, 127, 128, 268435455, 268435456, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        for (final long value : values) {
+            final ByteBuf buf = Unpooled.buffer();
+            Type.VAR_LONG.writePrimitive(buf, value);
+            buf.writeZero(10);
+            Assertions.assertEquals(value, Type.VAR_LONG.readPrimitive(buf));
+            Assertions.assertEquals(10, buf.readableBytes());
+
+            buf.clear();
+            Type.VAR_LONG.writePrimitive(buf, value);
+            Assertions.assertEquals(value, Type.VAR_LONG.readPrimitive(buf));
+            Assertions.assertFalse(buf.isReadable());
+        }
+    }
+}
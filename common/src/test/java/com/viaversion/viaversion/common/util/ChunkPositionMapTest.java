@@ -0,0 +1,82 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.util;
+
+import com.viaversion.viaversion.util.BlockPositionMap;
+import com.viaversion.viaversion.util.ChunkPositionMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ChunkPositionMapTest {
+
+    @Test
+    public void testAgainstHashMap() {
+        final ChunkPositionMap<Integer> map = new ChunkPositionMap<>(0);
+        final Map<Long, Integer> expected = new HashMap<>();
+        final Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            // Small coordinate range to force collisions and removals of present keys
+            final int x = random.nextInt(64) - 32;
+            final int z = random.nextInt(64) - 32;
+            final long key = ChunkPositionMap.key(x, z);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(key), map.remove(x, z));
+            } else {
+                Assertions.assertEquals(expected.put(key, i), map.put(x, z, i));
+            }
+            Assertions.assertEquals(expected.size(), map.size());
+        }
+
+        for (final Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            final long key = entry.getKey();
+            Assertions.assertEquals(entry.getValue(), map.get(ChunkPositionMap.chunkX(key), ChunkPositionMap.chunkZ(key)));
+        }
+
+        map.clear();
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertNull(map.get(0, 0));
+    }
+
+    @Test
+    public void testKeyPacking() {
+        final long key = ChunkPositionMap.key(-1875000, Integer.MIN_VALUE);
+        Assertions.assertEquals(-1875000, ChunkPositionMap.chunkX(key));
+        Assertions.assertEquals(Integer.MIN_VALUE, ChunkPositionMap.chunkZ(key));
+    }
+
+    @Test
+    public void testBlockPositionChunkRemoval() {
+        final BlockPositionMap<String> map = new BlockPositionMap<>();
+        map.put(-1, 64, -1, "a");
+        map.put(-16, 0, -16, "b");
+        map.put(0, 255, 0, "c");
+        Assertions.assertEquals(2, map.chunkCount());
+        Assertions.assertEquals("a", map.get(-1, 64, -1));
+        Assertions.assertNull(map.get(-1, 65, -1));
+
+        Assertions.assertTrue(map.removeChunk(-1, -1));
+        Assertions.assertNull(map.get(-16, 0, -16));
+        Assertions.assertEquals("c", map.get(0, 255, 0));
+
+        Assertions.assertEquals("c", map.remove(0, 255, 0));
+        Assertions.assertTrue(map.isEmpty());
+    }
+}
@@ -47,7 +47,7 @@ public class SpongeDecodeHandler extends ByteToMessageDecoder {
         ByteBuf transformedBuf = null;
         try {
             if (info.shouldTransformPacket()) {
-                transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+                transformedBuf = ctx.alloc().buffer(bytebuf.readableBytes()).writeBytes(bytebuf);
                 info.transformServerbound(transformedBuf, CancelDecoderException::generate);
             }
 
@@ -43,7 +43,7 @@ public class VelocityDecodeHandler extends MessageToMessageDecoder<ByteBuf> {
             return;
         }
 
-        ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+        ByteBuf transformedBuf = ctx.alloc().buffer(bytebuf.readableBytes()).writeBytes(bytebuf);
         try {
             info.transformIncoming(transformedBuf, CancelDecoderException::generate);
             out.add(transformedBuf.retain());